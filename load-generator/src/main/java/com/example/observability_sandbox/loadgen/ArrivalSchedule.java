@@ -0,0 +1,43 @@
+package com.example.observability_sandbox.loadgen;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Open-model arrival process: the gap to the next request depends only on elapsed time, never on
+ * how long earlier requests took. The rate ramps linearly from {@code startRate} to
+ * {@code targetRate} over {@code rampNanos} and then stays constant.
+ */
+final class ArrivalSchedule {
+
+    private static final double MIN_RATE = 0.01;
+
+    private final double startRate;
+    private final double targetRate;
+    private final long rampNanos;
+    private final boolean poisson;
+
+    ArrivalSchedule(double startRate, double targetRate, long rampNanos, boolean poisson) {
+        this.startRate = startRate;
+        this.targetRate = targetRate;
+        this.rampNanos = rampNanos;
+        this.poisson = poisson;
+    }
+
+    double rateAt(long elapsedNanos) {
+        if (rampNanos <= 0 || elapsedNanos >= rampNanos) {
+            return Math.max(MIN_RATE, targetRate);
+        }
+        double progress = (double) elapsedNanos / rampNanos;
+        return Math.max(MIN_RATE, startRate + (targetRate - startRate) * progress);
+    }
+
+    long nextIntervalNanos(long elapsedNanos) {
+        double meanNanos = 1_000_000_000.0 / rateAt(elapsedNanos);
+        if (!poisson) {
+            return Math.max(1L, (long) meanNanos);
+        }
+        // Exponential inter-arrival times give a Poisson process with the same mean rate
+        double u = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return Math.max(1L, (long) (-Math.log(u) * meanNanos));
+    }
+}
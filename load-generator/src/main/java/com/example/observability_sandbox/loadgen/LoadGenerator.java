@@ -0,0 +1,330 @@
+package com.example.observability_sandbox.loadgen;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Open-model load generator for POST /generate.
+ * <p>
+ * Requests are dispatched at their scheduled arrival time on virtual threads, whether or not earlier
+ * requests have finished. Latency is recorded twice: from the scheduled start (corrected for
+ * coordinated omission, i.e. it includes any time the request would have spent queued behind a
+ * stalled server) and from the actual send (service time only). Arrivals dropped over
+ * {@code --max-in-flight} never get a service time, so they are recorded in the corrected histogram
+ * as if they had hit {@code --timeout}; leaving them out would hide exactly the stalls being measured.
+ * <p>
+ * Response bodies are counted as received, before any decoding, so {@code --compressed} runs report
+ * wire bytes. Open server connections are sampled from Tomcat's {@code tomcat.connections.current}
+ * meter, which needs {@code server.tomcat.mbeanregistry.enabled=true} on the target.
+ */
+public final class LoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final long THROTTLED_WARNING_PERCENT = 1;
+    private static final Pattern METRIC_VALUE = Pattern.compile("\"value\"\\s*:\\s*([0-9.eE+-]+)");
+
+    private final LoadGeneratorOptions options;
+    private final HttpClient client;
+    private final URI generateUri;
+    private final Recorder corrected = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Recorder uncorrected = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram correctedTotal = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram uncorrectedTotal = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder transportErrors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder requestBytes = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+    private final LongAdder http2Responses = new LongAdder();
+    private volatile int serverConnections = -1;
+    private volatile int peakServerConnections = -1;
+    // Totals at the previous report, only touched inside report()
+    private long reportedThrottled;
+    private long reportedErrors;
+
+    LoadGenerator(LoadGeneratorOptions options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(options.http2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        this.generateUri = URI.create(options.baseUrl() + "/generate");
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadGeneratorOptions options;
+        try {
+            options = LoadGeneratorOptions.parse(args);
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.exit(2);
+            return;
+        }
+        new LoadGenerator(options).run();
+    }
+
+    void run() throws IOException, InterruptedException {
+        if (!options.skipHealthCheck()) {
+            // With --http 2 this GET also performs the h2c upgrade, so the run itself shares one connection
+            checkHealth();
+        } else if (options.http2()) {
+            primeConnection();
+        }
+        System.out.printf(Locale.ROOT, "Target %s | rate %.1f req/s (ramp from %.1f over %ds) | %s arrivals | mix %s | duration %ds%n",
+                generateUri, options.rate(), options.rampFrom(), options.ramp().toSeconds(),
+                options.poisson() ? "poisson" : "uniform", options.mix(), options.duration().toSeconds());
+        System.out.printf(Locale.ROOT, "Transport %s%s%n",
+                options.http2() ? "HTTP/2 (h2c)" : "HTTP/1.1", options.compressed() ? " | Accept-Encoding: gzip" : "");
+
+        ArrivalSchedule schedule = new ArrivalSchedule(options.rampFrom(), options.rate(),
+                options.ramp().toNanos(), options.poisson());
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "loadgen-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long reportMillis = Math.max(1L, options.reportInterval().toMillis());
+        long runStart = System.nanoTime();
+        reporter.scheduleAtFixedRate(() -> report(runStart), reportMillis, reportMillis, TimeUnit.MILLISECONDS);
+
+        long durationNanos = options.duration().toNanos();
+        long timeoutNanos = options.requestTimeout().toNanos();
+        long intendedStart = runStart;
+        long sequence = 0;
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (intendedStart - runStart < durationNanos) {
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                TrafficMix.RequestSpec spec = options.mix().next(sequence++, options.models());
+                if (inFlight.incrementAndGet() > options.maxInFlight()) {
+                    inFlight.decrementAndGet();
+                    dropped.increment();
+                    corrected.recordValue(clampMicros(Math.max(timeoutNanos, System.nanoTime() - intendedStart)));
+                } else {
+                    long scheduledAt = intendedStart;
+                    workers.execute(() -> execute(spec, scheduledAt));
+                }
+                intendedStart += schedule.nextIntervalNanos(intendedStart - runStart);
+            }
+            // Leaving the try block waits for outstanding requests
+        }
+        reporter.shutdownNow();
+        report(runStart);
+        printSummary(System.nanoTime() - runStart);
+        writeHistograms();
+    }
+
+    private void execute(TrafficMix.RequestSpec spec, long scheduledAt) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(generateUri)
+                .timeout(options.requestTimeout())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(spec.body()));
+        if (options.compressed()) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        if (spec.userId() != null) {
+            request.header("X-User-Id", spec.userId());
+        }
+        if (spec.region() != null) {
+            request.header("X-Region", spec.region());
+        }
+        if (spec.model() != null) {
+            request.header("X-Model", spec.model());
+        }
+
+        long sendStart = System.nanoTime();
+        sent.increment();
+        requestBytes.add(spec.body().length());
+        try {
+            // HttpClient never decodes Content-Encoding, so these are the bytes that crossed the wire
+            HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArrayConsumer(
+                    chunk -> chunk.ifPresent(bytes -> responseBytes.add(bytes.length))));
+            if (response.version() == HttpClient.Version.HTTP_2) {
+                http2Responses.increment();
+            }
+            int status = response.statusCode();
+            if (status == 429) {
+                throttled.increment();
+            } else if (status >= 500) {
+                serverErrors.increment();
+            } else if (status >= 400) {
+                clientErrors.increment();
+            } else {
+                ok.increment();
+            }
+        } catch (IOException ex) {
+            transportErrors.increment();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            transportErrors.increment();
+        } finally {
+            long end = System.nanoTime();
+            corrected.recordValue(clampMicros(end - scheduledAt));
+            uncorrected.recordValue(clampMicros(end - sendStart));
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private synchronized void report(long runStart) {
+        sampleServerConnections();
+        Histogram interval = corrected.getIntervalHistogram();
+        correctedTotal.add(interval);
+        uncorrectedTotal.add(uncorrected.getIntervalHistogram());
+        double seconds = (interval.getEndTimeStamp() - interval.getStartTimeStamp()) / 1000.0;
+        long throttledTotal = throttled.sum();
+        long errorsTotal = clientErrors.sum() + serverErrors.sum() + transportErrors.sum();
+        long intervalThrottled = throttledTotal - reportedThrottled;
+        long intervalErrors = errorsTotal - reportedErrors;
+        reportedThrottled = throttledTotal;
+        reportedErrors = errorsTotal;
+        System.out.printf(Locale.ROOT,
+                "[%5ds] %7.1f req/s | p50 %7.1f ms | p99 %7.1f ms | p99.9 %7.1f ms | max %7.1f ms | 429 %d | errors %d | in-flight %d | conns %s%n",
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - runStart),
+                seconds > 0 ? interval.getTotalCount() / seconds : 0.0,
+                millis(interval.getValueAtPercentile(50)),
+                millis(interval.getValueAtPercentile(99)),
+                millis(interval.getValueAtPercentile(99.9)),
+                millis(interval.getMaxValue()),
+                intervalThrottled,
+                intervalErrors,
+                inFlight.get(),
+                serverConnections < 0 ? "n/a" : Integer.toString(serverConnections));
+    }
+
+    private void printSummary(long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.println();
+        System.out.printf(Locale.ROOT, "Sent %d in %.1fs (%.1f req/s achieved, %.1f req/s target)%n",
+                sent.sum(), seconds, sent.sum() / seconds, options.rate());
+        System.out.printf(Locale.ROOT, "  2xx %d | 429 %d | 4xx %d | 5xx %d | transport errors %d | dropped %d%n",
+                ok.sum(), throttled.sum(), clientErrors.sum(), serverErrors.sum(), transportErrors.sum(), dropped.sum());
+        long requests = Math.max(1L, sent.sum());
+        System.out.printf(Locale.ROOT, "  bytes/request: request body %.0f | response body %.0f | HTTP/2 responses %d%n",
+                (double) requestBytes.sum() / requests, (double) responseBytes.sum() / requests, http2Responses.sum());
+        System.out.printf(Locale.ROOT, "  server connections: peak %s (%.1f req/s per connection)%n",
+                peakServerConnections < 0 ? "n/a" : Integer.toString(peakServerConnections),
+                peakServerConnections > 0 ? sent.sum() / seconds / peakServerConnections : 0.0);
+        printPercentiles("Corrected (from scheduled start)", correctedTotal);
+        printPercentiles("Uncorrected (service time)     ", uncorrectedTotal);
+        if (dropped.sum() > 0) {
+            System.out.printf(Locale.ROOT,
+                    "  WARNING: %d arrivals were dropped over --max-in-flight %d and count as %.1f ms in the corrected percentiles.%n",
+                    dropped.sum(), options.maxInFlight(), millis(clampMicros(options.requestTimeout().toNanos())));
+        }
+        if (throttled.sum() * 100 >= requests * THROTTLED_WARNING_PERCENT) {
+            // 429s are answered before any work is done, so they pull the latency percentiles down
+            System.out.printf(Locale.ROOT,
+                    "  WARNING: %.0f%% of requests were rate limited (429); latency reflects rejections, not generation."
+                            + " Start the app with --ratelimit.enabled=false or size the user pool to the per-user quota.%n",
+                    100.0 * throttled.sum() / requests);
+        }
+    }
+
+    private static void printPercentiles(String label, Histogram histogram) {
+        System.out.printf(Locale.ROOT, "  %s p50 %.1f | p90 %.1f | p99 %.1f | p99.9 %.1f | max %.1f ms%n",
+                label,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private void writeHistograms() throws IOException {
+        if (options.histogramOutput() == null) {
+            return;
+        }
+        writeHistogram(options.histogramOutput() + "-corrected.hgrm", correctedTotal);
+        writeHistogram(options.histogramOutput() + "-uncorrected.hgrm", uncorrectedTotal);
+    }
+
+    private static void writeHistogram(String path, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(new FileOutputStream(path), false, "UTF-8")) {
+            // Values are recorded in microseconds; scale so the file reads in milliseconds
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+        System.out.println("Wrote " + path);
+    }
+
+    private void checkHealth() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(options.baseUrl() + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        int status;
+        try {
+            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException ex) {
+            throw new IOException("Service not reachable at " + options.baseUrl() + " (use --skip-health-check to bypass)", ex);
+        }
+        if (status != 200) {
+            throw new IOException("Health check returned " + status + " (use --skip-health-check to bypass)");
+        }
+    }
+
+    private void primeConnection() {
+        try {
+            client.send(HttpRequest.newBuilder(URI.create(options.baseUrl() + "/actuator/health"))
+                    .timeout(Duration.ofSeconds(5)).GET().build(), HttpResponse.BodyHandlers.discarding());
+        } catch (IOException ex) {
+            // Best effort: without it the first POSTs simply stay on HTTP/1.1 connections
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sampleServerConnections() {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(options.baseUrl() + "/actuator/metrics/tomcat.connections.current"))
+                .timeout(Duration.ofSeconds(2))
+                .GET()
+                .build();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            Matcher matcher = METRIC_VALUE.matcher(response.body());
+            if (response.statusCode() == 200 && matcher.find()) {
+                int current = (int) Double.parseDouble(matcher.group(1));
+                serverConnections = current;
+                peakServerConnections = Math.max(peakServerConnections, current);
+            }
+        } catch (IOException | NumberFormatException ex) {
+            // Metric unavailable (mbeanregistry disabled or endpoint not exposed): report n/a
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long clampMicros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0L, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.observability_sandbox.loadgen;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command-line options. Flags follow load-generator.sh where an equivalent exists.
+ */
+record LoadGeneratorOptions(
+        String baseUrl,
+        double rate,
+        double rampFrom,
+        Duration ramp,
+        Duration duration,
+        boolean poisson,
+        TrafficMix mix,
+        List<String> models,
+        int maxInFlight,
+        Duration requestTimeout,
+        Duration reportInterval,
+        String histogramOutput,
+        boolean skipHealthCheck,
+        boolean http2,
+        boolean compressed
+) {
+
+    static final String USAGE = """
+            Usage: ./gradlew :load-generator:run --args="[options]"
+
+              --base-url <url>          Target application URL (default http://localhost:8080)
+              --rate <req/s>            Target arrival rate (default 50)
+              --ramp-from <req/s>       Starting rate when ramping (default: same as --rate)
+              --ramp <duration>         Ramp time from --ramp-from to --rate, e.g. 30s, 2m (default 0s)
+              --duration <duration>     Total run time including the ramp (default 60s)
+              --arrival <uniform|poisson>  Inter-arrival distribution (default poisson)
+              --mix <default|multi-model|continuous>  Label pools of the matching bash script
+              --models <m1,m2,...>      Override the model pool
+              --max-in-flight <n>       Requests beyond this many outstanding are dropped (default 10000)
+              --timeout <duration>      Per-request timeout (default 10s)
+              --report-interval <duration>  Progress line interval (default 5s)
+              --output <prefix>         Write <prefix>-corrected.hgrm and <prefix>-uncorrected.hgrm
+              --skip-health-check       Bypass the initial /actuator/health probe
+              --http <1.1|2>            Protocol; 2 upgrades to h2c on the first request (default 1.1)
+              --compressed              Send Accept-Encoding: gzip (bodies are counted as received)
+            """;
+
+    static LoadGeneratorOptions parse(String[] args) {
+        String baseUrl = "http://localhost:8080";
+        double rate = 50;
+        Double rampFrom = null;
+        Duration ramp = Duration.ZERO;
+        Duration duration = Duration.ofSeconds(60);
+        boolean poisson = true;
+        TrafficMix mix = TrafficMix.DEFAULT;
+        List<String> models = List.of();
+        int maxInFlight = 10_000;
+        Duration timeout = Duration.ofSeconds(10);
+        Duration reportInterval = Duration.ofSeconds(5);
+        String output = null;
+        boolean skipHealthCheck = false;
+        boolean http2 = false;
+        boolean compressed = false;
+
+        for (int i = 0; i < args.length; i++) {
+            String flag = args[i];
+            switch (flag) {
+                case "--base-url" -> baseUrl = value(args, ++i, flag);
+                case "--rate" -> rate = Double.parseDouble(value(args, ++i, flag));
+                case "--ramp-from" -> rampFrom = Double.parseDouble(value(args, ++i, flag));
+                case "--ramp" -> ramp = duration(value(args, ++i, flag));
+                case "--duration" -> duration = duration(value(args, ++i, flag));
+                case "--arrival" -> poisson = switch (value(args, ++i, flag).toLowerCase(Locale.ROOT)) {
+                    case "poisson" -> true;
+                    case "uniform" -> false;
+                    default -> throw new IllegalArgumentException("--arrival must be uniform or poisson");
+                };
+                case "--mix" -> mix = TrafficMix.valueOf(
+                        value(args, ++i, flag).toUpperCase(Locale.ROOT).replace('-', '_'));
+                case "--models" -> models = Arrays.stream(value(args, ++i, flag).split(","))
+                        .map(String::trim)
+                        .filter(model -> !model.isEmpty())
+                        .toList();
+                case "--max-in-flight" -> maxInFlight = Integer.parseInt(value(args, ++i, flag));
+                case "--timeout" -> timeout = duration(value(args, ++i, flag));
+                case "--report-interval" -> reportInterval = duration(value(args, ++i, flag));
+                case "--output" -> output = value(args, ++i, flag);
+                case "--skip-health-check" -> skipHealthCheck = true;
+                case "--http" -> http2 = switch (value(args, ++i, flag)) {
+                    case "1.1" -> false;
+                    case "2" -> true;
+                    default -> throw new IllegalArgumentException("--http must be 1.1 or 2");
+                };
+                case "--compressed" -> compressed = true;
+                case "--help", "-h" -> throw new IllegalArgumentException(USAGE);
+                default -> throw new IllegalArgumentException("Unknown option " + flag + "\n\n" + USAGE);
+            }
+        }
+        if (rate <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        return new LoadGeneratorOptions(baseUrl.replaceAll("/+$", ""), rate, rampFrom != null ? rampFrom : rate,
+                ramp, duration, poisson, mix, models, maxInFlight, timeout, reportInterval, output, skipHealthCheck,
+                http2, compressed);
+    }
+
+    private static String value(String[] args, int index, String flag) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + flag);
+        }
+        return args[index];
+    }
+
+    /**
+     * Accepts ISO-8601 ({@code PT30S}) or shorthand ({@code 500ms}, {@code 30s}, {@code 2m}, {@code 1h}).
+     */
+    static Duration duration(String text) {
+        String value = text.trim().toLowerCase(Locale.ROOT);
+        if (value.startsWith("pt")) {
+            return Duration.parse(value.toUpperCase(Locale.ROOT));
+        }
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        char unit = value.charAt(value.length() - 1);
+        if (Character.isDigit(unit)) {
+            return Duration.ofSeconds(Long.parseLong(value));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (unit) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Unsupported duration " + text);
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.observability_sandbox.loadgen;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * User/region/model/prompt pools copied from the bash traffic scripts so Java runs exercise the
+ * same label combinations.
+ */
+enum TrafficMix {
+
+    /** Mirrors load-generator.sh: random user, region, model and prompt on every request. */
+    DEFAULT(
+            List.of("alice.smith", "bob.johnson", "carol.williams", "david.brown", "emma.jones",
+                    "frank.garcia", "grace.martinez", "henry.rodriguez", "iris.lopez", "jack.wilson",
+                    "karen.anderson", "leo.thomas", "maria.taylor", "nathan.moore", "olivia.jackson",
+                    "peter.martin", "quinn.lee", "rachel.perez", "steve.thompson", "tina.white"),
+            List.of("us-east-1", "us-west-1", "us-west-2", "eu-west-1", "eu-central-1",
+                    "ap-southeast-1", "ap-northeast-1"),
+            List.of("gpt-4.0", "gpt-4o", "gpt-3.5-turbo", "claude-3.5-sonnet", "claude-3-opus",
+                    "claude-3-haiku", "gemini-2.0-flash", "gemini-1.5-pro", "llama-3.3-70b", "mistral-large"),
+            false),
+
+    /** Mirrors multi-model-traffic.sh: five users, model sent both as header and in the body. */
+    MULTI_MODEL(
+            List.of("alice.smith", "bob.johnson", "carol.williams", "david.brown", "emma.jones"),
+            List.of("us-west-1", "us-west-2", "us-east-1", "eu-west-1", "eu-central-1",
+                    "ap-southeast-1", "ap-northeast-1"),
+            List.of("gpt-4o", "gpt-4.0", "claude-3.5-sonnet", "claude-3-opus", "gemini-1.5-pro",
+                    "gemini-2.0-flash", "gpt-3.5-turbo", "llama-3.3-70b"),
+            false),
+
+    /** Mirrors continuous-traffic.sh: models in strict rotation, no user or region headers. */
+    CONTINUOUS(
+            List.of(),
+            List.of(),
+            List.of("gpt-4o", "gpt-3.5-turbo", "claude-3.5-sonnet", "claude-3-opus", "gemini-2.0-flash",
+                    "gemini-1.5-pro", "llama-3.3-70b", "gpt-4.0"),
+            true);
+
+    private static final List<String> PROMPTS = List.of(
+            "Write a short poem about clouds",
+            "Explain quantum computing in simple terms",
+            "Generate a product description for smart watch",
+            "Create a haiku about programming",
+            "Summarize the benefits of exercise",
+            "Write a joke about developers",
+            "Explain machine learning to a 5 year old",
+            "Generate a catchy slogan for a coffee shop",
+            "Describe the perfect vacation destination",
+            "Write a motivational quote");
+
+    private final List<String> users;
+    private final List<String> regions;
+    private final List<String> models;
+    private final boolean roundRobinModels;
+
+    TrafficMix(List<String> users, List<String> regions, List<String> models, boolean roundRobinModels) {
+        this.users = users;
+        this.regions = regions;
+        this.models = models;
+        this.roundRobinModels = roundRobinModels;
+    }
+
+    RequestSpec next(long sequence, List<String> modelOverride) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<String> modelPool = modelOverride.isEmpty() ? models : modelOverride;
+        String model = roundRobinModels
+                ? modelPool.get((int) (sequence % modelPool.size()))
+                : pick(modelPool, random);
+        return switch (this) {
+            case DEFAULT -> new RequestSpec(pick(users, random), pick(regions, random), model,
+                    "{\"prompt\":\"" + pick(PROMPTS, random) + "\"}");
+            case MULTI_MODEL -> new RequestSpec(pick(users, random), pick(regions, random), model,
+                    "{\"prompt\":\"test request " + sequence + "\",\"model\":\"" + model + "\"}");
+            case CONTINUOUS -> new RequestSpec(null, null, null,
+                    "{\"prompt\":\"Generate a response for test prompt #" + random.nextInt(1000)
+                            + "\",\"model\":\"" + model + "\"}");
+        };
+    }
+
+    private static String pick(List<String> values, ThreadLocalRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    record RequestSpec(String userId, String region, String model, String body) {
+    }
+}
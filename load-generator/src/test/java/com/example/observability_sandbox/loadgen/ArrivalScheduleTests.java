@@ -0,0 +1,60 @@
+package com.example.observability_sandbox.loadgen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class ArrivalScheduleTests {
+
+	private static final long RAMP_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+	@Test
+	void uniformArrivalsAreEvenlySpaced() {
+		ArrivalSchedule schedule = new ArrivalSchedule(50, 50, 0, false);
+
+		assertThat(schedule.nextIntervalNanos(0)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+		assertThat(schedule.nextIntervalNanos(RAMP_NANOS)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+	}
+
+	@Test
+	void rampIsLinearAndThenHoldsTarget() {
+		ArrivalSchedule schedule = new ArrivalSchedule(10, 110, RAMP_NANOS, false);
+
+		assertThat(schedule.rateAt(0)).isEqualTo(10.0);
+		assertThat(schedule.rateAt(RAMP_NANOS / 2)).isCloseTo(60.0, within(1e-9));
+		assertThat(schedule.rateAt(RAMP_NANOS)).isEqualTo(110.0);
+		assertThat(schedule.rateAt(RAMP_NANOS * 3)).isEqualTo(110.0);
+		assertThat(schedule.nextIntervalNanos(RAMP_NANOS / 2)).isEqualTo(1_000_000_000L / 60);
+	}
+
+	@Test
+	void rampDownNeverReachesZero() {
+		ArrivalSchedule schedule = new ArrivalSchedule(100, 0, RAMP_NANOS, false);
+
+		assertThat(schedule.rateAt(RAMP_NANOS)).isPositive();
+		assertThat(schedule.nextIntervalNanos(RAMP_NANOS)).isPositive();
+	}
+
+	@Test
+	void poissonArrivalsKeepTheMeanRate() {
+		ArrivalSchedule schedule = new ArrivalSchedule(200, 200, 0, true);
+		int samples = 200_000;
+		long total = 0;
+		long shortest = Long.MAX_VALUE;
+		long longest = 0;
+		for (int i = 0; i < samples; i++) {
+			long interval = schedule.nextIntervalNanos(0);
+			total += interval;
+			shortest = Math.min(shortest, interval);
+			longest = Math.max(longest, interval);
+		}
+
+		// 5 ms mean; an exponential sample spreads well past it in both directions
+		assertThat((double) total / samples).isCloseTo(5_000_000.0, within(100_000.0));
+		assertThat(shortest).isLessThan(TimeUnit.MILLISECONDS.toNanos(1));
+		assertThat(longest).isGreaterThan(TimeUnit.MILLISECONDS.toNanos(25));
+	}
+}
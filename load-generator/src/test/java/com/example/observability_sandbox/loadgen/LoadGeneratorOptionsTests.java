@@ -0,0 +1,76 @@
+package com.example.observability_sandbox.loadgen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class LoadGeneratorOptionsTests {
+
+	@Test
+	void defaults() {
+		LoadGeneratorOptions options = LoadGeneratorOptions.parse(new String[0]);
+
+		assertThat(options.baseUrl()).isEqualTo("http://localhost:8080");
+		assertThat(options.rate()).isEqualTo(50.0);
+		assertThat(options.rampFrom()).isEqualTo(50.0);
+		assertThat(options.ramp()).isZero();
+		assertThat(options.duration()).isEqualTo(Duration.ofSeconds(60));
+		assertThat(options.poisson()).isTrue();
+		assertThat(options.mix()).isEqualTo(TrafficMix.DEFAULT);
+		assertThat(options.maxInFlight()).isEqualTo(10_000);
+		assertThat(options.http2()).isFalse();
+	}
+
+	@Test
+	void parsesRampAndShorthandDurations() {
+		LoadGeneratorOptions options = LoadGeneratorOptions.parse(new String[] {
+				"--base-url", "http://host:9090/", "--rate", "200", "--ramp-from", "20", "--ramp", "30s",
+				"--duration", "2m", "--timeout", "500ms", "--mix", "multi-model", "--models", "a, b,,c",
+				"--max-in-flight", "64", "--http", "2" });
+
+		assertThat(options.baseUrl()).isEqualTo("http://host:9090");
+		assertThat(options.rate()).isEqualTo(200.0);
+		assertThat(options.rampFrom()).isEqualTo(20.0);
+		assertThat(options.ramp()).isEqualTo(Duration.ofSeconds(30));
+		assertThat(options.duration()).isEqualTo(Duration.ofMinutes(2));
+		assertThat(options.requestTimeout()).isEqualTo(Duration.ofMillis(500));
+		assertThat(options.mix()).isEqualTo(TrafficMix.MULTI_MODEL);
+		assertThat(options.models()).isEqualTo(List.of("a", "b", "c"));
+		assertThat(options.maxInFlight()).isEqualTo(64);
+		assertThat(options.http2()).isTrue();
+	}
+
+	@Test
+	void arrivalAcceptsOnlyKnownDistributions() {
+		assertThat(LoadGeneratorOptions.parse(new String[] { "--arrival", "uniform" }).poisson()).isFalse();
+		assertThat(LoadGeneratorOptions.parse(new String[] { "--arrival", "Poisson" }).poisson()).isTrue();
+		assertThatThrownBy(() -> LoadGeneratorOptions.parse(new String[] { "--arrival", "poison" }))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("--arrival");
+	}
+
+	@Test
+	void rejectsInvalidArguments() {
+		assertThatThrownBy(() -> LoadGeneratorOptions.parse(new String[] { "--rate", "0" }))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> LoadGeneratorOptions.parse(new String[] { "--rate" }))
+				.hasMessageContaining("Missing value for --rate");
+		assertThatThrownBy(() -> LoadGeneratorOptions.parse(new String[] { "--http", "3" }))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> LoadGeneratorOptions.parse(new String[] { "--bogus" }))
+				.hasMessageContaining("Unknown option --bogus");
+	}
+
+	@Test
+	void durationAcceptsIsoAndShorthand() {
+		assertThat(LoadGeneratorOptions.duration("PT1M30S")).isEqualTo(Duration.ofSeconds(90));
+		assertThat(LoadGeneratorOptions.duration("45")).isEqualTo(Duration.ofSeconds(45));
+		assertThat(LoadGeneratorOptions.duration("1h")).isEqualTo(Duration.ofHours(1));
+		assertThatThrownBy(() -> LoadGeneratorOptions.duration("3d"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
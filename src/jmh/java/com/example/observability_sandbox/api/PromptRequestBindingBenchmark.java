@@ -0,0 +1,71 @@
+package com.example.observability_sandbox.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares the old {@code Map<String, String>} binding of /generate bodies with
+ * {@link PromptRequestReader}. Run with {@code ./gradlew jmh}; the gc profiler reports
+ * {@code gc.alloc.rate.norm} (bytes allocated per request).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PromptRequestBindingBenchmark {
+
+    private static final TypeReference<Map<String, String>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"1024", "10240", "102400"})
+    public int promptBytes;
+
+    private byte[] body;
+    private ObjectMapper objectMapper;
+    private PromptRequestReader reader;
+
+    @Setup
+    public void setUp() {
+        String prompt = "x".repeat(promptBytes);
+        body = ("{\"prompt\":\"" + prompt + "\",\"userId\":\"alice.smith\",\"region\":\"eu-west-1\",\"model\":\"gpt-4o\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        objectMapper = new ObjectMapper();
+        reader = new PromptRequestReader(128 * 1024, 256 * 1024);
+    }
+
+    @Benchmark
+    public void mapBinding(Blackhole blackhole) throws IOException {
+        Map<String, String> payload = objectMapper.readValue(new ByteArrayInputStream(body), MAP_TYPE);
+        String user = payload.get("userId");
+        String region = payload.get("region");
+        String model = payload.get("model");
+        blackhole.consume(String.valueOf(payload.getOrDefault("prompt", PromptRequest.DEFAULT_PROMPT)));
+        blackhole.consume(user != null && !user.isBlank() ? user : PromptRequest.DEFAULT_USER);
+        blackhole.consume(region != null && !region.isBlank() ? region : PromptRequest.DEFAULT_REGION);
+        blackhole.consume(model != null && !model.isBlank() ? model : PromptRequest.DEFAULT_MODEL);
+    }
+
+    @Benchmark
+    public void streamingReader(Blackhole blackhole) throws IOException {
+        PromptRequest request = reader.read(new ByteArrayInputStream(body)).resolve(null, null, null);
+        blackhole.consume(request.prompt());
+        blackhole.consume(request.userId());
+        blackhole.consume(request.region());
+        blackhole.consume(request.model());
+    }
+}
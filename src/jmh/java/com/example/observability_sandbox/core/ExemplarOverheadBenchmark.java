@@ -0,0 +1,123 @@
+package com.example.observability_sandbox.core;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.tracer.common.SpanContext;
+
+/**
+ * Cost of recording into Prometheus-backed histograms with and without trace-id exemplars.
+ * Meters mirror http.server.requests (percentile histogram) and llm_request_tokens (SLO buckets).
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExemplarOverheadBenchmark {
+
+    private Timer plainTimer;
+    private Timer exemplarTimer;
+    private DistributionSummary plainTokens;
+    private DistributionSummary exemplarTokens;
+
+    @Setup
+    public void setUp() {
+        PrometheusMeterRegistry plain = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        PrometheusMeterRegistry withExemplars = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT,
+                new PrometheusRegistry(), Clock.SYSTEM, new SampledSpanContext());
+        plainTimer = latencyTimer(plain);
+        exemplarTimer = latencyTimer(withExemplars);
+        plainTokens = tokenSummary(plain);
+        exemplarTokens = tokenSummary(withExemplars);
+    }
+
+    @Benchmark
+    public void timerWithoutExemplars() {
+        plainTimer.record(latencyNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void timerWithExemplars() {
+        exemplarTimer.record(latencyNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void timerWithoutExemplarsContended() {
+        plainTimer.record(latencyNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void timerWithExemplarsContended() {
+        exemplarTimer.record(latencyNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void tokensWithoutExemplars() {
+        plainTokens.record(ThreadLocalRandom.current().nextInt(1, 20_000));
+    }
+
+    @Benchmark
+    public void tokensWithExemplars() {
+        exemplarTokens.record(ThreadLocalRandom.current().nextInt(1, 20_000));
+    }
+
+    private static Timer latencyTimer(PrometheusMeterRegistry registry) {
+        return Timer.builder("bench_request_latency")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static DistributionSummary tokenSummary(PrometheusMeterRegistry registry) {
+        return DistributionSummary.builder("bench_request_tokens")
+                .publishPercentiles(0.5, 0.9, 0.95)
+                .serviceLevelObjectives(16, 64, 256, 1024, 4096, 16384)
+                .register(registry);
+    }
+
+    private static long latencyNanos() {
+        return ThreadLocalRandom.current().nextLong(TimeUnit.MILLISECONDS.toNanos(1), TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Stands in for the tracing bridge: always reports a sampled span so every record is an
+     * exemplar candidate (the worst case).
+     */
+    private static final class SampledSpanContext implements SpanContext {
+
+        @Override
+        public String getCurrentTraceId() {
+            return "4bf92f3577b34da6a3ce929d0e0e4736";
+        }
+
+        @Override
+        public String getCurrentSpanId() {
+            return "00f067aa0ba902b7";
+        }
+
+        @Override
+        public boolean isCurrentSpanSampled() {
+            return true;
+        }
+
+        @Override
+        public void markCurrentSpanAsExemplar() {
+        }
+    }
+}
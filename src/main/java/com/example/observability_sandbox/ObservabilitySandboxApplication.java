@@ -10,12 +10,28 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import com.example.observability_sandbox.api.PromptRequestProperties;
 import com.example.observability_sandbox.evaluation.EvaluationProperties;
+import com.example.observability_sandbox.lifecycle.DrainProperties;
+import com.example.observability_sandbox.logging.ErrorLogProperties;
+import com.example.observability_sandbox.ratelimit.RateLimitProperties;
+import com.example.observability_sandbox.slo.SloProperties;
+import com.example.observability_sandbox.stats.LiveStatsProperties;
+import com.example.observability_sandbox.usage.UsageProperties;
 
 @SpringBootApplication
 @EnableAsync
 @EnableScheduling
-@EnableConfigurationProperties(EvaluationProperties.class)
+@EnableConfigurationProperties({
+		EvaluationProperties.class,
+		RateLimitProperties.class,
+		PromptRequestProperties.class,
+		LiveStatsProperties.class,
+		SloProperties.class,
+		UsageProperties.class,
+		ErrorLogProperties.class,
+		DrainProperties.class
+})
 public class ObservabilitySandboxApplication {
 
 	public static void main(String[] args) {
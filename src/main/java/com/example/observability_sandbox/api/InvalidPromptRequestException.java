@@ -0,0 +1,15 @@
+package com.example.observability_sandbox.api;
+
+/**
+ * Thrown when a /generate body is not a JSON object of string fields.
+ */
+public class InvalidPromptRequestException extends RuntimeException {
+
+    public InvalidPromptRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidPromptRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.observability_sandbox.api;
+
+/**
+ * Request payload for /generate.
+ * Read by {@link PromptRequestReader} straight off the request stream; header overrides and
+ * defaults are applied once via {@link #resolve(String, String, String)}.
+ */
+public record PromptRequest(
+    String prompt,
+    String userId,
+    String region,
+    String model
+) {
+
+    public static final String DEFAULT_PROMPT = "hello";
+    public static final String DEFAULT_USER = "demo-user";
+    public static final String DEFAULT_REGION = "us-west-1";
+    public static final String DEFAULT_MODEL = "gpt-4.0";
+    public static final int MAX_ID_CHARS = 256;
+
+    /**
+     * Returns a copy where every field is populated: header value first, then payload value,
+     * then the service default. Header values longer than {@link #MAX_ID_CHARS} are rejected the
+     * same way oversized payload ids are.
+     */
+    public PromptRequest resolve(String headerUser, String headerRegion, String headerModel) {
+        return new PromptRequest(
+                prompt != null ? prompt : DEFAULT_PROMPT,
+                firstNonBlank(checkId(headerUser, "X-User-Id"), userId, DEFAULT_USER),
+                firstNonBlank(checkId(headerRegion, "X-Region"), region, DEFAULT_REGION),
+                firstNonBlank(checkId(headerModel, "X-Model"), model, DEFAULT_MODEL));
+    }
+
+    static String checkId(String value, String field) {
+        if (value != null && value.length() > MAX_ID_CHARS) {
+            throw new InvalidPromptRequestException("'" + field + "' exceeds " + MAX_ID_CHARS + " characters");
+        }
+        return value;
+    }
+
+    private static String firstNonBlank(String header, String payload, String fallback) {
+        if (header != null && !header.isBlank()) {
+            return header;
+        }
+        if (payload != null && !payload.isBlank()) {
+            return payload;
+        }
+        return fallback;
+    }
+}
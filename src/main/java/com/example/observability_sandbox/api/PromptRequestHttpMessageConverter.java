@@ -0,0 +1,49 @@
+package com.example.observability_sandbox.api;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+/**
+ * Read-only converter that hands {@link PromptRequest} bodies to {@link PromptRequestReader}.
+ * A declared Content-Length above the body limit is rejected before any bytes are read.
+ */
+public class PromptRequestHttpMessageConverter extends AbstractHttpMessageConverter<PromptRequest> {
+
+    private final PromptRequestReader reader;
+
+    public PromptRequestHttpMessageConverter(PromptRequestReader reader) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.reader = reader;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PromptRequest.class == clazz;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected PromptRequest readInternal(Class<? extends PromptRequest> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        long contentLength = inputMessage.getHeaders().getContentLength();
+        if (contentLength > reader.maxBodyBytes()) {
+            throw new PromptTooLargeException("Request body of " + contentLength + " bytes exceeds "
+                    + reader.maxBodyBytes() + " bytes");
+        }
+        return reader.read(inputMessage.getBody());
+    }
+
+    @Override
+    protected void writeInternal(PromptRequest promptRequest, HttpOutputMessage outputMessage) {
+        throw new HttpMessageNotWritableException("PromptRequest is request-only");
+    }
+}
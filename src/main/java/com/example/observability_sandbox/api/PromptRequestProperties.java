@@ -0,0 +1,26 @@
+package com.example.observability_sandbox.api;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "generate.request")
+public class PromptRequestProperties {
+
+    private int maxPromptChars = 128 * 1024;
+    private long maxBodyBytes = 256 * 1024;
+
+    public int getMaxPromptChars() {
+        return maxPromptChars;
+    }
+
+    public void setMaxPromptChars(int maxPromptChars) {
+        this.maxPromptChars = maxPromptChars;
+    }
+
+    public long getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void setMaxBodyBytes(long maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+}
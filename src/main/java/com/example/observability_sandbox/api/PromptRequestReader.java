@@ -0,0 +1,150 @@
+package com.example.observability_sandbox.api;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+
+/**
+ * Streaming reader for {@link PromptRequest}.
+ * Walks the JSON tokens directly instead of binding to a {@code Map}, so the only allocations are
+ * the four field strings. Jackson's string-length constraint aborts an oversized prompt while it is
+ * still being tokenized, and the body stream itself is capped at {@code maxBodyBytes}.
+ * Unknown fields are skipped, but only up to {@link #MAX_NESTING_DEPTH} levels deep.
+ * The id fields end up in MDC, span tags, rate-limit keys and the usage log, so they are held to
+ * {@link PromptRequest#MAX_ID_CHARS} rather than the prompt limit.
+ */
+public final class PromptRequestReader {
+
+    static final int MAX_NESTING_DEPTH = 8;
+
+    private final JsonFactory jsonFactory;
+    private final int maxPromptChars;
+    private final long maxBodyBytes;
+
+    public PromptRequestReader(int maxPromptChars, long maxBodyBytes) {
+        this.maxPromptChars = maxPromptChars;
+        this.maxBodyBytes = maxBodyBytes;
+        this.jsonFactory = JsonFactory.builder()
+                .streamReadConstraints(StreamReadConstraints.builder()
+                        .maxStringLength(maxPromptChars)
+                        .build())
+                .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+                .build();
+    }
+
+    public long maxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public PromptRequest read(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(new BoundedInputStream(body, maxBodyBytes))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new InvalidPromptRequestException("Request body must be a JSON object");
+            }
+            String prompt = null;
+            String userId = null;
+            String region = null;
+            String model = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "prompt" -> prompt = readText(parser, value, field);
+                    case "userId" -> userId = PromptRequest.checkId(readText(parser, value, field), field);
+                    case "region" -> region = PromptRequest.checkId(readText(parser, value, field), field);
+                    case "model" -> model = PromptRequest.checkId(readText(parser, value, field), field);
+                    default -> skipValue(parser, value);
+                }
+            }
+            if (parser.nextToken() != null) {
+                throw new InvalidPromptRequestException("Unexpected content after the JSON object");
+            }
+            return new PromptRequest(prompt, userId, region, model);
+        } catch (StreamConstraintsException ex) {
+            throw new PromptTooLargeException("Prompt exceeds " + maxPromptChars + " characters", ex);
+        } catch (JsonProcessingException ex) {
+            throw new InvalidPromptRequestException("Malformed JSON body: " + ex.getOriginalMessage(), ex);
+        }
+    }
+
+    /**
+     * Counts depth itself rather than via {@link StreamReadConstraints#getMaxNestingDepth()}, whose
+     * {@link StreamConstraintsException} would be indistinguishable from an oversized prompt.
+     */
+    private static void skipValue(JsonParser parser, JsonToken value) throws IOException {
+        if (value == null || !value.isStructStart()) {
+            return;
+        }
+        // The enclosing request object is level 1, so this value starts at level 2
+        int depth = 2;
+        while (depth > 1) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new InvalidPromptRequestException("Malformed JSON body: unexpected end of input");
+            }
+            if (token.isStructStart() && ++depth > MAX_NESTING_DEPTH) {
+                throw new InvalidPromptRequestException("JSON nesting exceeds " + MAX_NESTING_DEPTH + " levels");
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+        }
+    }
+
+    private static String readText(JsonParser parser, JsonToken value, String field) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value != JsonToken.VALUE_STRING) {
+            throw new InvalidPromptRequestException("Field '" + field + "' must be a string");
+        }
+        return parser.getText();
+    }
+
+    /**
+     * Fails the read once more than {@code limit} bytes have been pulled, covering chunked
+     * requests that carry no Content-Length.
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+
+        private final long limit;
+        private long consumed;
+
+        BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            int n = super.read(buffer, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) {
+            consumed += n;
+            if (consumed > limit) {
+                throw new PromptTooLargeException("Request body exceeds " + limit + " bytes");
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.observability_sandbox.api;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class PromptRequestWebConfig implements WebMvcConfigurer {
+
+    private final PromptRequestProperties properties;
+
+    public PromptRequestWebConfig(PromptRequestProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    public PromptRequestReader promptRequestReader() {
+        return new PromptRequestReader(properties.getMaxPromptChars(), properties.getMaxBodyBytes());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Ahead of Jackson so PromptRequest never goes through ObjectMapper databinding
+        converters.add(0, new PromptRequestHttpMessageConverter(promptRequestReader()));
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.observability_sandbox.api;
+
+/**
+ * Thrown as soon as a /generate body or prompt crosses the configured limit,
+ * before the rest of the body is read.
+ */
+public class PromptTooLargeException extends RuntimeException {
+
+    public PromptTooLargeException(String message) {
+        super(message);
+    }
+
+    public PromptTooLargeException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
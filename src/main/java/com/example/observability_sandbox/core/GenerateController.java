@@ -1,14 +1,24 @@
 package com.example.observability_sandbox.core;
 
-import java.util.Map;
-
 import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.observability_sandbox.api.InvalidPromptRequestException;
+import com.example.observability_sandbox.api.PromptRequest;
+import com.example.observability_sandbox.api.PromptTooLargeException;
+import com.example.observability_sandbox.lifecycle.InFlightRequestRegistry;
+import com.example.observability_sandbox.ratelimit.RateLimitDecision;
+import com.example.observability_sandbox.ratelimit.RateLimiter;
+import com.example.observability_sandbox.slo.SloEvaluator;
+import com.example.observability_sandbox.stats.LiveStatsRegistry;
+
 import io.micrometer.tracing.Span;
 import io.micrometer.tracing.Tracer;
 
@@ -17,50 +27,36 @@ public class GenerateController {
 
     private final LlmService llmService;
     private final Tracer tracer;
+    private final RateLimiter rateLimiter;
+    private final LiveStatsRegistry liveStats;
+    private final SloEvaluator sloEvaluator;
+    private final InFlightRequestRegistry inFlight;
 
-    public GenerateController(LlmService llmService, Tracer tracer) {
+    public GenerateController(LlmService llmService, Tracer tracer, RateLimiter rateLimiter,
+                              LiveStatsRegistry liveStats, SloEvaluator sloEvaluator,
+                              InFlightRequestRegistry inFlight) {
         this.llmService = llmService;
         this.tracer = tracer;
+        this.rateLimiter = rateLimiter;
+        this.liveStats = liveStats;
+        this.sloEvaluator = sloEvaluator;
+        this.inFlight = inFlight;
     }
     
     @PostMapping("/generate")
     public ResponseEntity<GenerateResponse> generate(
-            @RequestBody Map<String, String> payload,
+            @RequestBody PromptRequest payload,
             @RequestHeader(value = "X-User-Id", required = false) String userId,
             @RequestHeader(value = "X-Region", required = false) String region,
             @RequestHeader(value = "X-Model", required = false) String model
     ) {
-        String prompt = String.valueOf(payload.getOrDefault("prompt", "hello"));
+        // Header takes precedence, then payload, then default
+        PromptRequest request = payload.resolve(userId, region, model);
+        String prompt = request.prompt();
         String endpoint = "/generate";
-        String payloadUser = payload.get("userId");
-        String payloadRegion = payload.get("region");
-        String effectiveUser;
-        if (userId != null && !userId.isBlank()) {
-            effectiveUser = userId;
-        } else if (payloadUser != null && !payloadUser.isBlank()) {
-            effectiveUser = payloadUser;
-        } else {
-            effectiveUser = "demo-user";
-        }
-        String effectiveRegion;
-        if (region != null && !region.isBlank()) {
-            effectiveRegion = region;
-        } else if (payloadRegion != null && !payloadRegion.isBlank()) {
-            effectiveRegion = payloadRegion;
-        } else {
-            effectiveRegion = "us-west-1";
-        }
-        
-        // Check model from header first, then from payload, then use default
-        String payloadModel = payload.get("model");
-        String effectiveModel;
-        if (model != null && !model.isBlank()) {
-            effectiveModel = model; // Header takes precedence
-        } else if (payloadModel != null && !payloadModel.isBlank()) {
-            effectiveModel = payloadModel; // Then payload
-        } else {
-            effectiveModel = "gpt-4.0"; // Default
-        }
+        String effectiveUser = request.userId();
+        String effectiveRegion = request.region();
+        String effectiveModel = request.model();
 
         MDC.put("endpoint", endpoint);
         MDC.put("userId", effectiveUser);
@@ -80,18 +76,70 @@ public class GenerateController {
             }
         }
 
-        try {
-            GenerateResponse resp = llmService.generate(prompt, effectiveModel);
-            return ResponseEntity.ok(resp);
+        try (InFlightRequestRegistry.Ticket ticket = inFlight.tryEnter(endpoint, effectiveModel)) {
+            if (ticket == null) {
+                // Draining for shutdown: ask the client to retry against another instance
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.CONNECTION, "close")
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new GenerateResponse("Error: instance is shutting down", 0, 0, false, 0));
+            }
+            RateLimitDecision decision = rateLimiter.tryAcquire(effectiveUser, effectiveRegion);
+            if (!decision.allowed()) {
+                if (span != null) {
+                    span.tag("ratelimit.scope", decision.scope());
+                }
+                org.slf4j.LoggerFactory.getLogger(GenerateController.class)
+                    .warn("Rate limited scope={} user={} region={}", decision.scope(), effectiveUser, effectiveRegion);
+                return ResponseEntity.status(429)
+                    .headers(rateLimitHeaders(decision))
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(decision.retryAfterSeconds()))
+                    .body(new GenerateResponse("Error: rate limit exceeded (" + decision.scope() + ")", 0, 0, false, 0));
+            }
+            long startNanos = System.nanoTime();
+            boolean failed = true;
+            try {
+                GenerateResponse resp = llmService.generate(prompt, effectiveModel);
+                failed = false;
+                return ResponseEntity.ok().headers(rateLimitHeaders(decision)).body(resp);
+            } finally {
+                long elapsedNanos = System.nanoTime() - startNanos;
+                liveStats.record(effectiveModel, effectiveRegion, endpoint, elapsedNanos, failed);
+                sloEvaluator.record(endpoint, effectiveModel, elapsedNanos, failed);
+            }
         } catch (RuntimeException e) {
-            // Log error with context
-            org.slf4j.LoggerFactory.getLogger(GenerateController.class)
-                .error("Request failed for model={} user={} region={}: {}", 
-                       effectiveModel, effectiveUser, effectiveRegion, e.getMessage());
+            // Model failures are already logged (or summarized) by LlmService; only log unexpected ones
+            if (!(e instanceof LlmGenerationException)) {
+                org.slf4j.LoggerFactory.getLogger(GenerateController.class)
+                    .error("Request failed for model={} user={} region={}: {}", 
+                           effectiveModel, effectiveUser, effectiveRegion, e.getMessage());
+            }
             return ResponseEntity.status(500)
                 .body(new GenerateResponse("Error: " + e.getMessage(), 0, 0, false, 0));
         } finally {
             MDC.clear();
         }
     }
+
+    @ExceptionHandler(PromptTooLargeException.class)
+    public ResponseEntity<GenerateResponse> promptTooLarge(PromptTooLargeException e) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+            .body(new GenerateResponse("Error: " + e.getMessage(), 0, 0, false, 0));
+    }
+
+    @ExceptionHandler(InvalidPromptRequestException.class)
+    public ResponseEntity<GenerateResponse> invalidPrompt(InvalidPromptRequestException e) {
+        return ResponseEntity.badRequest()
+            .body(new GenerateResponse("Error: " + e.getMessage(), 0, 0, false, 0));
+    }
+
+    private static HttpHeaders rateLimitHeaders(RateLimitDecision decision) {
+        HttpHeaders headers = new HttpHeaders();
+        if (decision.limit() != Integer.MAX_VALUE) {
+            headers.set("X-RateLimit-Limit", Integer.toString(decision.limit()));
+            headers.set("X-RateLimit-Remaining", Integer.toString(decision.remaining()));
+            headers.set("X-RateLimit-Reset", Long.toString(decision.resetSeconds()));
+        }
+        return headers;
+    }
 }
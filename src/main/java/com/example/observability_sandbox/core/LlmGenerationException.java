@@ -0,0 +1,25 @@
+package com.example.observability_sandbox.core;
+
+/**
+ * Simulated model failure raised by {@link LlmService}. The service has already logged it (or
+ * counted it towards a summary line), so callers should not log it again.
+ */
+public class LlmGenerationException extends RuntimeException {
+
+    private final String model;
+    private final String errorType;
+
+    public LlmGenerationException(String model, String errorType) {
+        super("LLM Error [" + model + "]: " + errorType);
+        this.model = model;
+        this.errorType = errorType;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public String getErrorType() {
+        return errorType;
+    }
+}
@@ -7,6 +7,9 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.stereotype.Service;
 
+import com.example.observability_sandbox.logging.ErrorLogAggregator;
+import com.example.observability_sandbox.usage.UsageAccountant;
+
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.tracing.Span;
@@ -23,22 +26,30 @@ public class LlmService {
     private final DistributionSummary reqTokensSummary;
     private final DistributionSummary respTokensSummary;
     private final MeterRegistry registry;
+    private final UsageAccountant usageAccountant;
+    private final ErrorLogAggregator errorLogAggregator;
 
-    public LlmService(Tracer tracer, MeterRegistry registry) {
+    public LlmService(Tracer tracer, MeterRegistry registry, UsageAccountant usageAccountant,
+                      ErrorLogAggregator errorLogAggregator) {
         this.tracer = tracer;
         this.registry = registry;
+        this.usageAccountant = usageAccountant;
+        this.errorLogAggregator = errorLogAggregator;
         // Note: promptsTotal and errorsTotal are NOT pre-registered to allow dynamic tags (model, error_type)
         this.reqTokensSummary = DistributionSummary.builder("llm_request_tokens")
                 .description("Number of tokens in LLM requests")
                 .baseUnit("tokens")
                 .tag(SERVICE_TAG, SERVICE_NAME)
                 .publishPercentiles(0.5, 0.9, 0.95)
+                // A few fixed buckets give exemplars somewhere to live without a full percentile histogram
+                .serviceLevelObjectives(16, 64, 256, 1024, 4096, 16384)
                 .register(registry);
         this.respTokensSummary = DistributionSummary.builder("llm_response_tokens")
                 .description("Number of tokens in LLM responses")
                 .baseUnit("tokens")
                 .tag(SERVICE_TAG, SERVICE_NAME)
                 .publishPercentiles(0.5, 0.9, 0.95)
+                .serviceLevelObjectives(25, 50, 75, 100)
                 .register(registry);
     }
 
@@ -77,10 +88,16 @@ public class LlmService {
                 String errorType = simulateModelError(effectiveModel);
                 span.tag("error", "true");
                 span.tag("error.type", errorType);
-                log.error("generate_error model={} prompt_len={} error_type={} latency_ms={}",
-                         effectiveModel, prompt.length(), errorType, latency);
+                String traceId = span.context() != null ? span.context().traceId() : null;
+                if (errorLogAggregator.shouldLog(effectiveModel, errorType, region, traceId)) {
+                    log.error("generate_error model={} prompt_len={} error_type={} latency_ms={}",
+                             effectiveModel, prompt.length(), errorType, latency);
+                }
                 incrementErrorCounter(effectiveModel, errorType);
-                throw new RuntimeException("LLM Error [" + effectiveModel + "]: " + errorType);
+                // The prompt was still sent, so its tokens count against the user even though nothing came back
+                usageAccountant.record(userId, effectiveModel != null ? effectiveModel : "unknown",
+                        region != null ? region : "unknown", reqTokens, 0);
+                throw new LlmGenerationException(effectiveModel, errorType);
             }
 
             log.info("generate_ok model={} prompt_len={} req_tokens={} resp_tokens={} cache_hit={} latency_ms={}",
@@ -105,6 +122,8 @@ public class LlmService {
             
             reqTokensSummary.record(reqTokens);
             respTokensSummary.record(respTokens);
+            // Per-user totals go to the usage log, not Prometheus (userId would explode cardinality)
+            usageAccountant.record(userId, modelTag, regionTag, reqTokens, respTokens);
 
             return new GenerateResponse("Generated response for: " + prompt, reqTokens, respTokens, false, latency);
         } finally {
@@ -0,0 +1,15 @@
+package com.example.observability_sandbox.evaluation;
+
+import java.time.Instant;
+
+/**
+ * Last batch summary persisted to disk. {@code partial} marks a batch that was stopped by a
+ * shutdown drain; the next run only executes the cases missing from {@code summary.results()}.
+ */
+public record EvaluationCheckpoint(
+        String trigger,
+        boolean partial,
+        Instant savedAt,
+        EvaluationBatchSummary summary
+) {
+}
@@ -0,0 +1,60 @@
+package com.example.observability_sandbox.evaluation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Keeps {@link EvaluationCheckpoint} in a local JSON file so the last summary and the progress of a
+ * drained batch survive a restart. Failures are logged and never break a batch.
+ */
+@Component
+public class EvaluationCheckpointStore {
+
+    private static final Logger log = LoggerFactory.getLogger(EvaluationCheckpointStore.class);
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    public EvaluationCheckpointStore(ObjectMapper objectMapper, EvaluationProperties properties) {
+        this.objectMapper = objectMapper;
+        this.file = Path.of(properties.getCheckpointFile());
+    }
+
+    public Optional<EvaluationCheckpoint> load() {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(file.toFile(), EvaluationCheckpoint.class));
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Ignoring unreadable evaluation checkpoint {}: {}", file, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public boolean save(EvaluationCheckpoint checkpoint) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            // Write then rename so a crash mid-write never leaves a truncated checkpoint
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            objectMapper.writeValue(tmp.toFile(), checkpoint);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException ex) {
+            log.error("Failed to write evaluation checkpoint {}: {}", file, ex.getMessage());
+            return false;
+        }
+    }
+}
@@ -11,6 +11,9 @@ public class EvaluationProperties {
     private String model = "distilbert";
     private Duration interval = Duration.ofMinutes(10);
     private int batchSize = 20;
+    private boolean lazyInit = false;
+    private String checkpointFile = "data/evaluation-checkpoint.json";
+    private Sharding sharding = new Sharding();
 
     public boolean isEnabled() {
         return enabled;
@@ -43,4 +46,131 @@ public class EvaluationProperties {
     public void setBatchSize(int batchSize) {
         this.batchSize = batchSize;
     }
+
+    public boolean isLazyInit() {
+        return lazyInit;
+    }
+
+    public void setLazyInit(boolean lazyInit) {
+        this.lazyInit = lazyInit;
+    }
+
+    public String getCheckpointFile() {
+        return checkpointFile;
+    }
+
+    public void setCheckpointFile(String checkpointFile) {
+        this.checkpointFile = checkpointFile;
+    }
+
+    public Sharding getSharding() {
+        return sharding;
+    }
+
+    public void setSharding(Sharding sharding) {
+        this.sharding = sharding;
+    }
+
+    public enum Coordinator {
+        FILE,
+        KUBERNETES
+    }
+
+    /**
+     * Splits each run into shards of {@code shardSize} cases that replicas claim through a
+     * {@link ShardLeaseCoordinator}. {@code directory} must be shared by all replicas.
+     */
+    public static class Sharding {
+
+        private boolean enabled = false;
+        private Coordinator coordinator = Coordinator.FILE;
+        private String directory = "data/evaluation-shards";
+        private int shardSize = 5;
+        private Duration leaseDuration = Duration.ofSeconds(30);
+        private Duration pollInterval = Duration.ofSeconds(5);
+        private int retainedRuns = 20;
+        private String instanceId;
+        private String leasePrefix = "los-evaluation";
+        private String kubernetesNamespace;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Coordinator getCoordinator() {
+            return coordinator;
+        }
+
+        public void setCoordinator(Coordinator coordinator) {
+            this.coordinator = coordinator;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public int getShardSize() {
+            return shardSize;
+        }
+
+        public void setShardSize(int shardSize) {
+            this.shardSize = shardSize;
+        }
+
+        public Duration getLeaseDuration() {
+            return leaseDuration;
+        }
+
+        public void setLeaseDuration(Duration leaseDuration) {
+            this.leaseDuration = leaseDuration;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getRetainedRuns() {
+            return retainedRuns;
+        }
+
+        public void setRetainedRuns(int retainedRuns) {
+            this.retainedRuns = retainedRuns;
+        }
+
+        public String getInstanceId() {
+            return instanceId;
+        }
+
+        public void setInstanceId(String instanceId) {
+            this.instanceId = instanceId;
+        }
+
+        public String getLeasePrefix() {
+            return leasePrefix;
+        }
+
+        public void setLeasePrefix(String leasePrefix) {
+            this.leasePrefix = leasePrefix;
+        }
+
+        public String getKubernetesNamespace() {
+            return kubernetesNamespace;
+        }
+
+        public void setKubernetesNamespace(String kubernetesNamespace) {
+            this.kubernetesNamespace = kubernetesNamespace;
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package com.example.observability_sandbox.evaluation;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A sharded run as published to the shared directory. Shards carry the cases themselves so every
+ * replica executes exactly the same split, whatever its own {@code batch-size} setting.
+ */
+public record EvaluationRunManifest(
+        String runId,
+        String trigger,
+        Instant createdAt,
+        List<List<EvaluationCase>> shards
+) {
+}
@@ -8,7 +8,10 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -17,6 +20,8 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -35,16 +40,20 @@ import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.Timer.Sample;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 
 @Service
+@Lazy(false) // keep @Scheduled registration when spring.main.lazy-initialization is on
 public class EvaluationService {
 
     private static final Logger log = LoggerFactory.getLogger(EvaluationService.class);
 
     private final EvaluationProperties properties;
     private final MeterRegistry meterRegistry;
+    private final Tracer tracer;
     private final List<EvaluationCase> evaluationCases;
 
     private final Counter passCounter;
@@ -58,13 +67,31 @@ public class EvaluationService {
     private final AtomicReference<EvaluationBatchSummary> lastSummary = new AtomicReference<>(
             new EvaluationBatchSummary(Instant.EPOCH, Duration.ZERO, 0, 0, 0, List.of()));
     private final AtomicBoolean batchRunning = new AtomicBoolean(false);
+    private final AtomicBoolean admitting = new AtomicBoolean(true);
+    private final AtomicBoolean stopRequested = new AtomicBoolean(false);
+    private final AtomicReference<EvaluationCheckpoint> pendingCheckpoint = new AtomicReference<>();
+    private final EvaluationCheckpointStore checkpointStore;
+    private final ShardedEvaluationRunner shardRunner;
+    private final Executor evaluationExecutor;
 
     private final AtomicReference<ZooModel<String, Classifications>> modelRef = new AtomicReference<>();
 
-    public EvaluationService(EvaluationProperties properties, MeterRegistry meterRegistry) {
+    public EvaluationService(EvaluationProperties properties, MeterRegistry meterRegistry, Tracer tracer,
+                             EvaluationCheckpointStore checkpointStore, ShardedEvaluationRunner shardRunner,
+                             @Qualifier("evaluationExecutor") Executor evaluationExecutor) {
         this.properties = properties;
         this.meterRegistry = meterRegistry;
+        this.tracer = tracer;
+        this.checkpointStore = checkpointStore;
+        this.shardRunner = shardRunner;
+        this.evaluationExecutor = evaluationExecutor;
         this.evaluationCases = EvaluationDataset.defaultCases();
+        checkpointStore.load().ifPresent(checkpoint -> {
+            lastSummary.set(checkpoint.summary());
+            if (checkpoint.partial()) {
+                pendingCheckpoint.set(checkpoint);
+            }
+        });
 
         this.passCounter = Counter.builder("llm_evaluation_tests_total")
                 .tag("result", "pass")
@@ -102,9 +129,15 @@ public class EvaluationService {
 
     @PostConstruct
     public void warmup() {
-        if (properties.isEnabled()) {
-            initializePredictor();
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (properties.isLazyInit()) {
+            // DJL/PyTorch native loading is deferred to the first batch (runBatch calls initializePredictor)
+            log.info("Deferring evaluation model {} load until first batch", properties.getModel());
+            return;
         }
+        initializePredictor();
     }
 
     public boolean isEnabled() {
@@ -120,6 +153,10 @@ public class EvaluationService {
             log.debug("Evaluation disabled; skipping run [{}]", trigger);
             return emptySummary();
         }
+        if (!admitting.get()) {
+            log.info("Evaluation draining for shutdown; skipping trigger [{}]", trigger);
+            return emptySummary();
+        }
         if (!batchRunning.compareAndSet(false, true)) {
             log.warn("Evaluation already running; skipping overlapping trigger [{}]", trigger);
             return emptySummary();
@@ -138,6 +175,26 @@ public class EvaluationService {
                     .limit(Math.max(1, properties.getBatchSize()))
                     .collect(Collectors.toList());
 
+            if (shardRunner.isEnabled()) {
+                // Shards are the unit of progress here, so the drain checkpoint below does not apply
+                return runSharded(trigger, zooModel, casesToRun);
+            }
+
+            // Resume a batch that was cut short by a shutdown drain
+            List<EvaluationResult> resumedResults = List.of();
+            EvaluationCheckpoint resumed = pendingCheckpoint.getAndSet(null);
+            if (resumed != null) {
+                resumedResults = resumed.summary().results();
+                Set<String> completedIds = resumedResults.stream()
+                        .map(result -> result.evaluationCase().id())
+                        .collect(Collectors.toSet());
+                casesToRun = casesToRun.stream()
+                        .filter(caseItem -> !completedIds.contains(caseItem.id()))
+                        .collect(Collectors.toList());
+                log.info("Resuming drained evaluation batch [{}]: completed={} remaining={}",
+                        resumed.trigger(), resumedResults.size(), casesToRun.size());
+            }
+
             Instant start = Instant.now();
             batchContext.put("evaluation_batch_trigger", trigger);
             batchContext.put("evaluation_model", properties.getModel());
@@ -148,11 +205,19 @@ public class EvaluationService {
             log.info("evaluation_batch_start cases={}", casesToRun.size());
 
             Sample sample = Timer.start(meterRegistry);
-            List<EvaluationResult> results = new ArrayList<>(casesToRun.size());
-            int passed = 0;
-            int failed = 0;
+            List<EvaluationResult> results = new ArrayList<>(resumedResults.size() + casesToRun.size());
+            results.addAll(resumedResults);
+            int passed = (int) resumedResults.stream().filter(EvaluationResult::passed).count();
+            int failed = resumedResults.size() - passed;
+            boolean drained = false;
             try (Predictor<String, Classifications> predictor = zooModel.newPredictor()) {
                 for (EvaluationCase caseItem : casesToRun) {
+                    if (stopRequested.get()) {
+                        drained = true;
+                        log.warn("Evaluation batch [{}] stopped for shutdown after {} of {} cases",
+                                trigger, results.size(), resumedResults.size() + casesToRun.size());
+                        break;
+                    }
                     EvaluationResult result = executeCase(predictor, caseItem);
                     results.add(result);
                     if (result.passed()) {
@@ -187,6 +252,7 @@ public class EvaluationService {
 
             EvaluationBatchSummary summary = new EvaluationBatchSummary(start, batchDuration, results.size(), passed, failed, results);
             lastSummary.set(summary);
+            checkpointStore.save(new EvaluationCheckpoint(trigger, drained, Instant.now(), summary));
 
             Map<String, String> completedContext = new LinkedHashMap<>();
             completedContext.put("evaluation_model", properties.getModel());
@@ -217,9 +283,55 @@ public class EvaluationService {
     @Scheduled(initialDelayString = "#{T(java.time.Duration).parse('${evaluation.interval:PT10M}').toMillis()}",
             fixedDelayString = "#{T(java.time.Duration).parse('${evaluation.interval:PT10M}').toMillis()}")
     public void scheduledBatch() {
+        if (properties.isEnabled() && shardRunner.isEnabled() && !shardRunner.claimScheduledRun(properties.getInterval())) {
+            log.debug("Scheduled evaluation run already started by another replica");
+            return;
+        }
         runBatch("scheduled");
     }
 
+    /**
+     * Sharded mode: picks up shards of runs started by other replicas (or left behind by a replica
+     * that died) and adopts summaries merged elsewhere, so {@code /api/evaluations/last} agrees
+     * across replicas. Inference runs on the evaluation executor, not the scheduler thread.
+     */
+    @Scheduled(initialDelayString = "#{T(java.time.Duration).parse('${evaluation.sharding.poll-interval:PT5S}').toMillis()}",
+            fixedDelayString = "#{T(java.time.Duration).parse('${evaluation.sharding.poll-interval:PT5S}').toMillis()}")
+    public void joinShardedRuns() {
+        if (!properties.isEnabled() || !shardRunner.isEnabled() || !admitting.get()) {
+            return;
+        }
+        shardRunner.latestSummary()
+                .filter(summary -> summary.startedAt().isAfter(lastSummary.get().startedAt()))
+                .ifPresent(this::adoptSummary);
+        List<EvaluationRunManifest> openRuns = shardRunner.openRuns();
+        if (openRuns.isEmpty() || !batchRunning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            evaluationExecutor.execute(() -> {
+                try {
+                    initializePredictor();
+                    ZooModel<String, Classifications> zooModel = modelRef.get();
+                    if (zooModel == null) {
+                        return;
+                    }
+                    for (EvaluationRunManifest manifest : openRuns) {
+                        if (stopRequested.get()) {
+                            break;
+                        }
+                        workShards(manifest, zooModel);
+                    }
+                } finally {
+                    batchRunning.set(false);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            batchRunning.set(false);
+            log.debug("Evaluation executor busy; joining sharded runs on the next poll");
+        }
+    }
+
     public Instant lastRunAt() {
         return lastRunAt.get();
     }
@@ -232,11 +344,91 @@ public class EvaluationService {
         return batchRunning.get();
     }
 
+    /**
+     * Stops admitting new batches and lets a running batch carry on to completion.
+     */
+    public void stopAdmitting() {
+        admitting.set(false);
+    }
+
+    /**
+     * Stops admitting new batches and asks a running batch to stop after its current case.
+     * The partial summary is checkpointed and resumed by the next run.
+     */
+    public void requestStop() {
+        admitting.set(false);
+        stopRequested.set(true);
+    }
+
+    private EvaluationBatchSummary runSharded(String trigger, ZooModel<String, Classifications> zooModel,
+                                              List<EvaluationCase> casesToRun) {
+        EvaluationRunManifest manifest;
+        try {
+            manifest = shardRunner.startRun(trigger, casesToRun);
+        } catch (IOException ex) {
+            log.error("Cannot publish sharded evaluation run [{}]: {}", trigger, ex.getMessage());
+            return emptySummary();
+        }
+        Instant start = Instant.now();
+        ShardedEvaluationRunner.ShardWork work = workShards(manifest, zooModel);
+        // Other replicas still hold shards: report what ran here; the merged summary follows via lastSummary
+        return work.merged().orElseGet(() -> {
+            List<EvaluationResult> executed = work.executed();
+            int passed = (int) executed.stream().filter(EvaluationResult::passed).count();
+            return new EvaluationBatchSummary(start, Duration.between(start, Instant.now()),
+                    executed.size(), passed, executed.size() - passed, executed);
+        });
+    }
+
+    private ShardedEvaluationRunner.ShardWork workShards(EvaluationRunManifest manifest,
+                                                          ZooModel<String, Classifications> zooModel) {
+        try (Predictor<String, Classifications> predictor = zooModel.newPredictor()) {
+            ShardedEvaluationRunner.ShardWork work = shardRunner.work(manifest, caseItem -> {
+                EvaluationResult result = executeCase(predictor, caseItem);
+                (result.passed() ? passCounter : failCounter).increment();
+                return result;
+            }, stopRequested::get);
+            work.merged().ifPresent(summary -> {
+                // Only the merging replica records the run, so batch metrics count each run once
+                batchTimer.record(summary.duration());
+                adoptSummary(summary);
+                checkpointStore.save(new EvaluationCheckpoint(manifest.trigger(), false, Instant.now(), summary));
+                log.info("Completed sharded evaluation run [{}]: total={} passed={} failed={} duration={}ms",
+                        manifest.runId(), summary.total(), summary.passed(), summary.failed(), summary.duration().toMillis());
+            });
+            return work;
+        }
+    }
+
+    private void adoptSummary(EvaluationBatchSummary summary) {
+        lastSummary.set(summary);
+        lastRunCount.set(summary.total());
+        lastRunPasses.set(summary.passed());
+        lastRunAt.set(summary.startedAt());
+    }
+
     private EvaluationBatchSummary emptySummary() {
         return new EvaluationBatchSummary(Instant.now(), Duration.ZERO, 0, 0, 0, List.of());
     }
 
     private EvaluationResult executeCase(Predictor<String, Classifications> predictor, EvaluationCase evaluationCase) {
+        // Own span per case so the inference/request timers get a trace-id exemplar to link to
+        Span span = tracer.nextSpan().name("EvaluationService.executeCase").start();
+        try (Tracer.SpanInScope ws = tracer.withSpan(span)) {
+            span.tag("evaluation.case_id", evaluationCase.id());
+            span.tag("model", properties.getModel());
+            EvaluationResult result = predictCase(predictor, evaluationCase);
+            span.tag("evaluation.passed", Boolean.toString(result.passed()));
+            if (result.errorMessage() != null) {
+                span.tag("error", "true");
+            }
+            return result;
+        } finally {
+            span.end();
+        }
+    }
+
+    private EvaluationResult predictCase(Predictor<String, Classifications> predictor, EvaluationCase evaluationCase) {
         long startNanos = System.nanoTime();
         long inferenceStart = System.nanoTime();
         try {
@@ -0,0 +1,14 @@
+package com.example.observability_sandbox.evaluation;
+
+import java.time.Instant;
+import java.util.List;
+
+public record EvaluationShardResult(
+        String runId,
+        int shard,
+        String holder,
+        Instant startedAt,
+        Instant finishedAt,
+        List<EvaluationResult> results
+) {
+}
@@ -0,0 +1,201 @@
+package com.example.observability_sandbox.evaluation;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Shared-directory layout for sharded runs:
+ * <pre>
+ * runs/&lt;runId&gt;/manifest.json      written once by the replica that starts the run
+ * runs/&lt;runId&gt;/shard-0003.json    one per finished shard
+ * runs/&lt;runId&gt;/summary.json       merged summary, present once every shard is done
+ * latest-summary.json              copy of the newest merged summary
+ * </pre>
+ * All files are written to a temp name and renamed, so readers never see partial JSON.
+ */
+@Component
+public class EvaluationShardStore {
+
+    private static final Logger log = LoggerFactory.getLogger(EvaluationShardStore.class);
+    private static final String MANIFEST = "manifest.json";
+    private static final String SUMMARY = "summary.json";
+    private static final String LATEST_SUMMARY = "latest-summary.json";
+
+    private final ObjectMapper objectMapper;
+    private final Path runsDirectory;
+    private final Path latestSummary;
+    private final int retainedRuns;
+    private final ConcurrentHashMap<String, EvaluationRunManifest> manifests = new ConcurrentHashMap<>();
+
+    public EvaluationShardStore(ObjectMapper objectMapper, EvaluationProperties properties) {
+        this.objectMapper = objectMapper;
+        Path root = Path.of(properties.getSharding().getDirectory());
+        this.runsDirectory = root.resolve("runs");
+        this.latestSummary = root.resolve(LATEST_SUMMARY);
+        this.retainedRuns = Math.max(1, properties.getSharding().getRetainedRuns());
+    }
+
+    /** Publishes a new run; returns {@code false} if a run with the same id already exists. */
+    public boolean createRun(EvaluationRunManifest manifest) throws IOException {
+        Files.createDirectories(runsDirectory);
+        Path runDirectory = runsDirectory.resolve(manifest.runId());
+        try {
+            Files.createDirectory(runDirectory);
+        } catch (FileAlreadyExistsException ex) {
+            return false;
+        }
+        write(runDirectory.resolve(MANIFEST), manifest);
+        manifests.put(manifest.runId(), manifest);
+        prune();
+        return true;
+    }
+
+    /** Runs without a merged summary, oldest first. */
+    public List<EvaluationRunManifest> openRuns() {
+        List<EvaluationRunManifest> open = new ArrayList<>();
+        if (!Files.isDirectory(runsDirectory)) {
+            return open;
+        }
+        try (DirectoryStream<Path> runs = Files.newDirectoryStream(runsDirectory, Files::isDirectory)) {
+            for (Path runDirectory : runs) {
+                if (Files.exists(runDirectory.resolve(SUMMARY))) {
+                    manifests.remove(runDirectory.getFileName().toString());
+                    continue;
+                }
+                manifest(runDirectory).ifPresent(open::add);
+            }
+        } catch (IOException ex) {
+            log.warn("Cannot list evaluation runs in {}: {}", runsDirectory, ex.getMessage());
+        }
+        open.sort(Comparator.comparing(EvaluationRunManifest::createdAt));
+        return open;
+    }
+
+    public boolean isShardComplete(String runId, int shard) {
+        return Files.exists(shardFile(runId, shard));
+    }
+
+    public void writeShard(EvaluationShardResult result) throws IOException {
+        write(shardFile(result.runId(), result.shard()), result);
+    }
+
+    /** All shard results in shard order, or empty while any shard is still missing. */
+    public Optional<List<EvaluationShardResult>> completedShards(EvaluationRunManifest manifest) throws IOException {
+        List<EvaluationShardResult> shards = new ArrayList<>(manifest.shards().size());
+        for (int shard = 0; shard < manifest.shards().size(); shard++) {
+            Path file = shardFile(manifest.runId(), shard);
+            if (!Files.exists(file)) {
+                return Optional.empty();
+            }
+            shards.add(objectMapper.readValue(file.toFile(), EvaluationShardResult.class));
+        }
+        return Optional.of(shards);
+    }
+
+    public boolean hasSummary(String runId) {
+        return Files.exists(runsDirectory.resolve(runId).resolve(SUMMARY));
+    }
+
+    public void writeSummary(String runId, EvaluationBatchSummary summary) throws IOException {
+        write(runsDirectory.resolve(runId).resolve(SUMMARY), summary);
+        write(latestSummary, summary);
+        manifests.remove(runId);
+    }
+
+    public Optional<EvaluationBatchSummary> latestSummary() {
+        if (!Files.isRegularFile(latestSummary)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(latestSummary.toFile(), EvaluationBatchSummary.class));
+        } catch (IOException ex) {
+            log.warn("Cannot read {}: {}", latestSummary, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Optional<EvaluationRunManifest> manifest(Path runDirectory) {
+        String runId = runDirectory.getFileName().toString();
+        EvaluationRunManifest cached = manifests.get(runId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Path file = runDirectory.resolve(MANIFEST);
+        if (!Files.isRegularFile(file)) {
+            // Directory created, manifest not renamed into place yet
+            return Optional.empty();
+        }
+        try {
+            EvaluationRunManifest manifest = objectMapper.readValue(file.toFile(), EvaluationRunManifest.class);
+            manifests.put(runId, manifest);
+            return Optional.of(manifest);
+        } catch (IOException ex) {
+            log.warn("Ignoring unreadable evaluation run manifest {}: {}", file, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Path shardFile(String runId, int shard) {
+        return runsDirectory.resolve(runId).resolve(String.format(Locale.ROOT, "shard-%04d.json", shard));
+    }
+
+    private void write(Path target, Object value) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            objectMapper.writeValue(tmp.toFile(), value);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private void prune() {
+        List<Path> runs = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(runsDirectory, Files::isDirectory)) {
+            stream.forEach(runs::add);
+        } catch (IOException ex) {
+            log.warn("Cannot list evaluation runs in {}: {}", runsDirectory, ex.getMessage());
+            return;
+        }
+        if (runs.size() <= retainedRuns) {
+            return;
+        }
+        runs.sort(Comparator.comparing(EvaluationShardStore::lastModified));
+        for (Path run : runs.subList(0, runs.size() - retainedRuns)) {
+            try (Stream<Path> files = Files.walk(run)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(file);
+                }
+                manifests.remove(run.getFileName().toString());
+            } catch (IOException ex) {
+                log.warn("Failed to prune evaluation run {}: {}", run, ex.getMessage());
+            }
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException ex) {
+            return 0L;
+        }
+    }
+}
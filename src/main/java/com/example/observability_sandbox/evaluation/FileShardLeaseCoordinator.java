@@ -0,0 +1,97 @@
+package com.example.observability_sandbox.evaluation;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Leases stored as small files in a shared directory. Every read-modify-write of a lease file happens
+ * while holding an OS lock on {@code .lock}, which also serializes replicas on a shared volume as long
+ * as the filesystem honours {@code fcntl} locks (local disks, NFSv4, most RWX CSI drivers).
+ * Expiry uses wall-clock time, so replica clocks should be NTP-synced to well under the TTL.
+ */
+class FileShardLeaseCoordinator implements ShardLeaseCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(FileShardLeaseCoordinator.class);
+
+    private final Path directory;
+    private final LongSupplier clock;
+
+    FileShardLeaseCoordinator(Path directory) {
+        this(directory, System::currentTimeMillis);
+    }
+
+    FileShardLeaseCoordinator(Path directory, LongSupplier clock) {
+        this.directory = directory;
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized boolean tryAcquire(String name, String holder, Duration ttl) {
+        try (FileChannel channel = openLock(); FileLock ignored = channel.lock()) {
+            Path leaseFile = leaseFile(name);
+            Lease current = read(leaseFile);
+            long now = clock.getAsLong();
+            if (current != null && !current.holder().equals(holder) && current.expiresAtMillis() > now) {
+                return false;
+            }
+            Files.writeString(leaseFile, holder + "\n" + (now + ttl.toMillis()) + "\n", StandardCharsets.UTF_8);
+            return true;
+        } catch (IOException ex) {
+            log.warn("Lease {} unavailable: {}", name, ex.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized void release(String name, String holder) {
+        try (FileChannel channel = openLock(); FileLock ignored = channel.lock()) {
+            Path leaseFile = leaseFile(name);
+            Lease current = read(leaseFile);
+            if (current != null && current.holder().equals(holder)) {
+                Files.deleteIfExists(leaseFile);
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to release lease {}: {}", name, ex.getMessage());
+        }
+    }
+
+    private FileChannel openLock() throws IOException {
+        Files.createDirectories(directory);
+        return FileChannel.open(directory.resolve(".lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private Path leaseFile(String name) {
+        return directory.resolve(name + ".lease");
+    }
+
+    private static Lease read(Path leaseFile) throws IOException {
+        if (!Files.isRegularFile(leaseFile)) {
+            return null;
+        }
+        List<String> lines = Files.readAllLines(leaseFile, StandardCharsets.UTF_8);
+        if (lines.size() < 2) {
+            return null;
+        }
+        try {
+            return new Lease(lines.get(0), Long.parseLong(lines.get(1).trim()));
+        } catch (NumberFormatException ex) {
+            // Torn write from a crashed holder: treat as free
+            return null;
+        }
+    }
+
+    private record Lease(String holder, long expiresAtMillis) {
+    }
+}
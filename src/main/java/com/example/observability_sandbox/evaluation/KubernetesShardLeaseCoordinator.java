@@ -0,0 +1,200 @@
+package com.example.observability_sandbox.evaluation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Leases backed by {@code coordination.k8s.io/v1} Lease objects, talking to the API server with the
+ * pod's service account (see {@code k8s/evaluation-sharding.yaml} for the RBAC it needs).
+ * <p>
+ * Takeover and renewal are {@code PUT}s carrying the observed {@code resourceVersion}, so two replicas
+ * racing for the same expired lease are resolved by the API server with a 409 for the loser.
+ */
+class KubernetesShardLeaseCoordinator implements ShardLeaseCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(KubernetesShardLeaseCoordinator.class);
+    private static final Path SERVICE_ACCOUNT = Path.of("/var/run/secrets/kubernetes.io/serviceaccount");
+    private static final DateTimeFormatter MICRO_TIME =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS'Z'", Locale.ROOT).withZone(ZoneOffset.UTC);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+    private static final int MAX_NAME_LENGTH = 253;
+
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final String leasesUri;
+
+    KubernetesShardLeaseCoordinator(ObjectMapper objectMapper, String namespace) {
+        this.objectMapper = objectMapper;
+        String host = System.getenv("KUBERNETES_SERVICE_HOST");
+        String port = System.getenv().getOrDefault("KUBERNETES_SERVICE_PORT", "443");
+        if (host == null) {
+            throw new IllegalStateException("evaluation.sharding.coordinator=kubernetes requires running in a pod");
+        }
+        try {
+            String effectiveNamespace = namespace != null && !namespace.isBlank()
+                    ? namespace
+                    : Files.readString(SERVICE_ACCOUNT.resolve("namespace"), StandardCharsets.UTF_8).trim();
+            this.leasesUri = "https://" + host + ":" + port
+                    + "/apis/coordination.k8s.io/v1/namespaces/" + effectiveNamespace + "/leases";
+            this.httpClient = HttpClient.newBuilder()
+                    .sslContext(serviceAccountTrust())
+                    .connectTimeout(REQUEST_TIMEOUT)
+                    .build();
+        } catch (IOException | GeneralSecurityException ex) {
+            throw new IllegalStateException("Cannot read service account for Kubernetes leases", ex);
+        }
+    }
+
+    @Override
+    public boolean tryAcquire(String name, String holder, Duration ttl) {
+        String leaseName = leaseName(name);
+        try {
+            HttpResponse<String> current = send(request(leaseName).GET());
+            if (current.statusCode() == 404) {
+                ObjectNode lease = objectMapper.createObjectNode();
+                lease.put("apiVersion", "coordination.k8s.io/v1");
+                lease.put("kind", "Lease");
+                ObjectNode metadata = lease.putObject("metadata");
+                metadata.put("name", leaseName);
+                metadata.putObject("labels").put("app.kubernetes.io/component", "evaluation-shard");
+                writeSpec(lease.putObject("spec"), holder, ttl, true);
+                int status = send(request(null).POST(body(lease))).statusCode();
+                return status == 201;
+            }
+            if (current.statusCode() != 200) {
+                log.warn("Lease {} lookup failed with HTTP {}", leaseName, current.statusCode());
+                return false;
+            }
+            JsonNode lease = objectMapper.readTree(current.body());
+            JsonNode spec = lease.path("spec");
+            String currentHolder = spec.path("holderIdentity").asText("");
+            boolean ownedBySelf = holder.equals(currentHolder);
+            if (!ownedBySelf && !currentHolder.isEmpty() && !expired(spec)) {
+                return false;
+            }
+            // resourceVersion stays in metadata, so a concurrent takeover makes this PUT fail with 409
+            writeSpec((ObjectNode) lease.path("spec"), holder, ttl, !ownedBySelf);
+            int status = send(request(leaseName).PUT(body(lease))).statusCode();
+            return status == 200;
+        } catch (IOException ex) {
+            log.warn("Lease {} unavailable: {}", leaseName, ex.getMessage());
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void release(String name, String holder) {
+        String leaseName = leaseName(name);
+        try {
+            HttpResponse<String> current = send(request(leaseName).GET());
+            if (current.statusCode() != 200) {
+                return;
+            }
+            JsonNode lease = objectMapper.readTree(current.body());
+            if (!holder.equals(lease.path("spec").path("holderIdentity").asText(""))) {
+                return;
+            }
+            ObjectNode options = objectMapper.createObjectNode();
+            options.put("apiVersion", "v1");
+            options.put("kind", "DeleteOptions");
+            options.putObject("preconditions")
+                    .put("resourceVersion", lease.path("metadata").path("resourceVersion").asText());
+            send(request(leaseName).method("DELETE", body(options)));
+        } catch (IOException ex) {
+            log.warn("Failed to release lease {}: {}", leaseName, ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeSpec(ObjectNode spec, String holder, Duration ttl, boolean newHolder) {
+        String now = MICRO_TIME.format(Instant.now());
+        spec.put("holderIdentity", holder);
+        // Round up: a lease that ends early would let a second replica claim the same schedule slot
+        spec.put("leaseDurationSeconds", Math.max(1, (int) ((ttl.toMillis() + 999) / 1000)));
+        spec.put("renewTime", now);
+        if (newHolder) {
+            spec.put("acquireTime", now);
+        }
+    }
+
+    private static boolean expired(JsonNode spec) {
+        String renewTime = spec.path("renewTime").asText(null);
+        if (renewTime == null) {
+            return true;
+        }
+        Instant renewedAt = OffsetDateTime.parse(renewTime).toInstant();
+        long durationSeconds = spec.path("leaseDurationSeconds").asLong(0);
+        return renewedAt.plusSeconds(durationSeconds).isBefore(Instant.now());
+    }
+
+    private HttpRequest.Builder request(String leaseName) throws IOException {
+        String token = Files.readString(SERVICE_ACCOUNT.resolve("token"), StandardCharsets.UTF_8).trim();
+        return HttpRequest.newBuilder(URI.create(leaseName == null ? leasesUri : leasesUri + "/" + leaseName))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher body(JsonNode node) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(node));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /** Lease names must be DNS subdomains. */
+    static String leaseName(String name) {
+        String sanitized = name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9.-]", "-").replaceAll("^[^a-z0-9]+", "");
+        sanitized = sanitized.length() > MAX_NAME_LENGTH ? sanitized.substring(0, MAX_NAME_LENGTH) : sanitized;
+        return sanitized.replaceAll("[^a-z0-9]+$", "");
+    }
+
+    private static SSLContext serviceAccountTrust() throws IOException, GeneralSecurityException {
+        KeyStore trustStore = KeyStore.getInstance(KeyStore.getDefaultType());
+        trustStore.load(null, null);
+        try (InputStream in = Files.newInputStream(SERVICE_ACCOUNT.resolve("ca.crt"))) {
+            int index = 0;
+            for (Certificate certificate : CertificateFactory.getInstance("X.509").generateCertificates(in)) {
+                trustStore.setCertificateEntry("kubernetes-ca-" + index++, certificate);
+            }
+        }
+        TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagers.init(trustStore);
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(null, trustManagers.getTrustManagers(), null);
+        return context;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.observability_sandbox.evaluation;
+
+import java.time.Duration;
+
+/**
+ * Time-bounded mutual exclusion between replicas. A lease that is not renewed within its TTL can be
+ * taken over, so a replica that dies mid-shard only delays that shard by one TTL.
+ */
+public interface ShardLeaseCoordinator {
+
+    /**
+     * Acquires {@code name} for {@code holder}, or extends it when {@code holder} already owns it.
+     * Returns {@code false} when another holder owns an unexpired lease or the backend is unavailable.
+     */
+    boolean tryAcquire(String name, String holder, Duration ttl);
+
+    /** Releases {@code name} if {@code holder} still owns it; otherwise does nothing. */
+    void release(String name, String holder);
+}
@@ -0,0 +1,25 @@
+package com.example.observability_sandbox.evaluation;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Configuration
+public class ShardLeaseCoordinatorConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "evaluation.sharding", name = "coordinator", havingValue = "file", matchIfMissing = true)
+    public ShardLeaseCoordinator fileShardLeaseCoordinator(EvaluationProperties properties) {
+        return new FileShardLeaseCoordinator(Path.of(properties.getSharding().getDirectory(), "leases"));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "evaluation.sharding", name = "coordinator", havingValue = "kubernetes")
+    public ShardLeaseCoordinator kubernetesShardLeaseCoordinator(EvaluationProperties properties, ObjectMapper objectMapper) {
+        return new KubernetesShardLeaseCoordinator(objectMapper, properties.getSharding().getKubernetesNamespace());
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.observability_sandbox.evaluation;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shard protocol for {@code evaluation.sharding.enabled=true}.
+ * <p>
+ * The replica that receives a trigger publishes a manifest; every replica (including that one) then
+ * walks the shards, claims free ones through the {@link ShardLeaseCoordinator}, renews the lease after
+ * each case and writes the shard result. Whoever finds every shard done merges them into one
+ * {@link EvaluationBatchSummary}. A shard whose holder dies is picked up again once its lease expires.
+ */
+@Component
+public class ShardedEvaluationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedEvaluationRunner.class);
+
+    private final EvaluationProperties.Sharding properties;
+    private final EvaluationShardStore store;
+    private final ShardLeaseCoordinator coordinator;
+    private final String instanceId;
+
+    public ShardedEvaluationRunner(EvaluationProperties properties, EvaluationShardStore store,
+                                   ShardLeaseCoordinator coordinator) {
+        this.properties = properties.getSharding();
+        this.store = store;
+        this.coordinator = coordinator;
+        this.instanceId = resolveInstanceId(this.properties.getInstanceId());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public String instanceId() {
+        return instanceId;
+    }
+
+    /**
+     * Every replica's {@code @Scheduled} batch fires once per interval; only the first one in each
+     * wall-clock slot ({@code now / interval}) gets to start a run, the others join it through
+     * {@link #openRuns()}.
+     */
+    public boolean claimScheduledRun(Duration interval) {
+        return claimScheduledRun(interval, System.currentTimeMillis());
+    }
+
+    /**
+     * The schedule lease expires exactly at the end of the current slot, so however far apart the
+     * replicas' timers drift, a slot is claimed at most once and the next slot is free for whoever
+     * fires first in it. A single lease name is reused so no lease is left behind per slot.
+     */
+    boolean claimScheduledRun(Duration interval, long nowMillis) {
+        long intervalMillis = Math.max(1L, interval.toMillis());
+        long slotEnd = (nowMillis / intervalMillis + 1) * intervalMillis;
+        return coordinator.tryAcquire(properties.getLeasePrefix() + "-schedule", instanceId,
+                Duration.ofMillis(slotEnd - nowMillis));
+    }
+
+    public EvaluationRunManifest startRun(String trigger, List<EvaluationCase> cases) throws IOException {
+        Instant createdAt = Instant.now();
+        int shardSize = Math.max(1, properties.getShardSize());
+        List<List<EvaluationCase>> shards = new ArrayList<>();
+        for (int from = 0; from < cases.size(); from += shardSize) {
+            shards.add(List.copyOf(cases.subList(from, Math.min(cases.size(), from + shardSize))));
+        }
+        String runId = sanitize(trigger) + "-" + createdAt.toEpochMilli();
+        EvaluationRunManifest manifest = new EvaluationRunManifest(runId, trigger, createdAt, shards);
+        if (!store.createRun(manifest)) {
+            throw new IOException("Evaluation run " + runId + " already exists");
+        }
+        log.info("evaluation_run_published run_id={} shards={} cases={} instance={}",
+                runId, shards.size(), cases.size(), instanceId);
+        return manifest;
+    }
+
+    public List<EvaluationRunManifest> openRuns() {
+        return store.openRuns();
+    }
+
+    public Optional<EvaluationBatchSummary> latestSummary() {
+        return store.latestSummary();
+    }
+
+    /**
+     * Executes every shard of {@code manifest} this replica can claim, then merges the run if it is
+     * complete. Stops between cases when {@code stopRequested} turns true; the interrupted shard is
+     * released unfinished and redone by another replica.
+     */
+    public ShardWork work(EvaluationRunManifest manifest, Function<EvaluationCase, EvaluationResult> executor,
+                          BooleanSupplier stopRequested) {
+        List<EvaluationResult> executed = new ArrayList<>();
+        int shardsRun = 0;
+        for (int shard = 0; shard < manifest.shards().size() && !stopRequested.getAsBoolean(); shard++) {
+            if (store.isShardComplete(manifest.runId(), shard)) {
+                continue;
+            }
+            String lease = leaseName(manifest.runId(), "shard-" + shard);
+            if (!coordinator.tryAcquire(lease, instanceId, properties.getLeaseDuration())) {
+                continue;
+            }
+            try {
+                // Another replica may have finished it between the check above and acquiring the lease
+                if (store.isShardComplete(manifest.runId(), shard)) {
+                    continue;
+                }
+                List<EvaluationResult> results = runShard(manifest, shard, lease, executor, stopRequested);
+                if (results != null) {
+                    executed.addAll(results);
+                    shardsRun++;
+                }
+            } finally {
+                coordinator.release(lease, instanceId);
+            }
+        }
+        return new ShardWork(executed, shardsRun, mergeIfComplete(manifest));
+    }
+
+    private List<EvaluationResult> runShard(EvaluationRunManifest manifest, int shard, String lease,
+                                            Function<EvaluationCase, EvaluationResult> executor,
+                                            BooleanSupplier stopRequested) {
+        List<EvaluationCase> cases = manifest.shards().get(shard);
+        Instant startedAt = Instant.now();
+        List<EvaluationResult> results = new ArrayList<>(cases.size());
+        for (EvaluationCase caseItem : cases) {
+            if (stopRequested.getAsBoolean()) {
+                log.warn("evaluation_shard_abandoned run_id={} shard={} reason=shutdown", manifest.runId(), shard);
+                return null;
+            }
+            results.add(executor.apply(caseItem));
+            if (!coordinator.tryAcquire(lease, instanceId, properties.getLeaseDuration())) {
+                log.warn("evaluation_shard_abandoned run_id={} shard={} reason=lease_lost", manifest.runId(), shard);
+                return null;
+            }
+        }
+        Instant finishedAt = Instant.now();
+        try {
+            store.writeShard(new EvaluationShardResult(manifest.runId(), shard, instanceId, startedAt, finishedAt, results));
+        } catch (IOException ex) {
+            log.error("Failed to write shard {} of evaluation run {}: {}", shard, manifest.runId(), ex.getMessage());
+            return null;
+        }
+        log.info("evaluation_shard_complete run_id={} shard={} cases={} duration_ms={}",
+                manifest.runId(), shard, results.size(), Duration.between(startedAt, finishedAt).toMillis());
+        return results;
+    }
+
+    private Optional<EvaluationBatchSummary> mergeIfComplete(EvaluationRunManifest manifest) {
+        String lease = leaseName(manifest.runId(), "merge");
+        if (store.hasSummary(manifest.runId()) || !coordinator.tryAcquire(lease, instanceId, properties.getLeaseDuration())) {
+            return Optional.empty();
+        }
+        try {
+            if (store.hasSummary(manifest.runId())) {
+                return Optional.empty();
+            }
+            Optional<List<EvaluationShardResult>> shards = store.completedShards(manifest);
+            if (shards.isEmpty()) {
+                return Optional.empty();
+            }
+            List<EvaluationResult> results = new ArrayList<>();
+            Instant finishedAt = manifest.createdAt();
+            for (EvaluationShardResult shard : shards.get()) {
+                results.addAll(shard.results());
+                if (shard.finishedAt().isAfter(finishedAt)) {
+                    finishedAt = shard.finishedAt();
+                }
+            }
+            int passed = (int) results.stream().filter(EvaluationResult::passed).count();
+            Duration wallTime = Duration.between(manifest.createdAt(), finishedAt);
+            EvaluationBatchSummary summary = new EvaluationBatchSummary(
+                    manifest.createdAt(), wallTime, results.size(), passed, results.size() - passed, results);
+            store.writeSummary(manifest.runId(), summary);
+            log.info("evaluation_run_merged run_id={} shards={} replicas={} total={} passed={} failed={} duration_ms={}",
+                    manifest.runId(), shards.get().size(),
+                    shards.get().stream().map(EvaluationShardResult::holder).distinct().count(),
+                    summary.total(), summary.passed(), summary.failed(), wallTime.toMillis());
+            return Optional.of(summary);
+        } catch (IOException ex) {
+            log.error("Failed to merge evaluation run {}: {}", manifest.runId(), ex.getMessage());
+            return Optional.empty();
+        } finally {
+            coordinator.release(lease, instanceId);
+        }
+    }
+
+    private String leaseName(String runId, String suffix) {
+        return properties.getLeasePrefix() + "-" + runId + "-" + suffix;
+    }
+
+    private static String sanitize(String trigger) {
+        String sanitized = trigger == null ? "" : trigger.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9-]", "-");
+        return sanitized.isBlank() ? "run" : sanitized;
+    }
+
+    private static String resolveInstanceId(String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        String hostname = System.getenv("HOSTNAME");
+        return hostname != null && !hostname.isBlank() ? hostname : "instance-" + UUID.randomUUID();
+    }
+
+    /**
+     * What one replica did for a run: the cases it executed itself and, if it was the one to
+     * complete the run, the merged summary.
+     */
+    public record ShardWork(List<EvaluationResult> executed, int shardsRun, Optional<EvaluationBatchSummary> merged) {
+    }
+}
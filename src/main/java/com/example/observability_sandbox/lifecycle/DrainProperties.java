@@ -0,0 +1,64 @@
+package com.example.observability_sandbox.lifecycle;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "drain")
+public class DrainProperties {
+
+    private boolean enabled = true;
+    private Duration readinessPropagationDelay = Duration.ofSeconds(5);
+    private Duration timeout = Duration.ofSeconds(20);
+    private Duration pollInterval = Duration.ofMillis(50);
+    private Duration batchStopGrace = Duration.ofSeconds(2);
+    private int maxSeries = 200;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getReadinessPropagationDelay() {
+        return readinessPropagationDelay;
+    }
+
+    public void setReadinessPropagationDelay(Duration readinessPropagationDelay) {
+        this.readinessPropagationDelay = readinessPropagationDelay;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public Duration getBatchStopGrace() {
+        return batchStopGrace;
+    }
+
+    public void setBatchStopGrace(Duration batchStopGrace) {
+        this.batchStopGrace = batchStopGrace;
+    }
+
+    public int getMaxSeries() {
+        return maxSeries;
+    }
+
+    public void setMaxSeries(int maxSeries) {
+        this.maxSeries = maxSeries;
+    }
+}
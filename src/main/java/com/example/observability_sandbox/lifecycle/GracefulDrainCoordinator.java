@@ -0,0 +1,152 @@
+package com.example.observability_sandbox.lifecycle;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.example.observability_sandbox.evaluation.EvaluationService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Drains the instance before the web server's own graceful shutdown runs.
+ * <p>
+ * Shutdown order: report readiness {@code REFUSING_TRAFFIC}, wait for the endpoint removal to reach
+ * the load balancer, stop admitting {@code /generate} calls and evaluation batches, then wait up to
+ * {@code drain.timeout} for in-flight requests and the running batch. A batch that is still running
+ * {@code drain.batch-stop-grace} before the deadline is asked to stop after its current case, which
+ * checkpoints its partial results. Whatever is still running at the deadline is counted as abandoned.
+ */
+@Component
+public class GracefulDrainCoordinator implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(GracefulDrainCoordinator.class);
+    private static final String SERVICE_TAG = "service";
+    private static final String SERVICE_NAME = "los-app";
+
+    private final DrainProperties properties;
+    private final InFlightRequestRegistry inFlight;
+    private final EvaluationService evaluationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Timer drainTimer;
+    private final Counter abandonedRequests;
+    private final Counter abandonedBatches;
+    private volatile boolean running;
+
+    public GracefulDrainCoordinator(DrainProperties properties, InFlightRequestRegistry inFlight,
+                                    EvaluationService evaluationService, ApplicationEventPublisher eventPublisher,
+                                    MeterRegistry registry) {
+        this.properties = properties;
+        this.inFlight = inFlight;
+        this.evaluationService = evaluationService;
+        this.eventPublisher = eventPublisher;
+        this.drainTimer = Timer.builder("llm_drain_duration_seconds")
+                .description("Time spent draining in-flight work during shutdown")
+                .tag(SERVICE_TAG, SERVICE_NAME)
+                .register(registry);
+        this.abandonedRequests = Counter.builder("llm_drain_abandoned_requests_total")
+                .description("Requests still in flight when the drain deadline passed")
+                .tag(SERVICE_TAG, SERVICE_NAME)
+                .register(registry);
+        this.abandonedBatches = Counter.builder("llm_drain_abandoned_evaluation_batches_total")
+                .description("Evaluation batches still running when the drain deadline passed")
+                .tag(SERVICE_TAG, SERVICE_NAME)
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        try {
+            if (running && properties.isEnabled()) {
+                drain();
+            }
+        } finally {
+            running = false;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Highest phase, so this stops before the web server's graceful shutdown and the executors. */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+
+    private void drain() {
+        long startNanos = System.nanoTime();
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        log.info("drain_start inflight_requests={} evaluation_running={} readiness_delay_ms={}",
+                inFlight.total(), evaluationService.isRunning(), properties.getReadinessPropagationDelay().toMillis());
+
+        // Keep serving while the readiness change propagates so no request lands on a closed listener
+        sleep(properties.getReadinessPropagationDelay());
+        inFlight.stopAdmitting();
+        evaluationService.stopAdmitting();
+
+        long timeoutNanos = properties.getTimeout().toNanos();
+        long deadline = System.nanoTime() + timeoutNanos;
+        long stopBatchAt = deadline - Math.min(timeoutNanos, properties.getBatchStopGrace().toNanos());
+        boolean batchStopRequested = false;
+        while ((inFlight.total() > 0 || evaluationService.isRunning()) && System.nanoTime() < deadline) {
+            if (!batchStopRequested && System.nanoTime() >= stopBatchAt && evaluationService.isRunning()) {
+                // Out of time for the whole batch: cut it at the next case so it checkpoints before the deadline
+                evaluationService.requestStop();
+                batchStopRequested = true;
+                log.info("drain_evaluation_stop_requested remaining_ms={}",
+                        Duration.ofNanos(deadline - System.nanoTime()).toMillis());
+            }
+            if (!sleep(properties.getPollInterval())) {
+                break;
+            }
+        }
+
+        int remainingRequests = inFlight.total();
+        boolean batchAbandoned = evaluationService.isRunning();
+        Map<String, Integer> remaining = inFlight.snapshot();
+        long elapsedNanos = System.nanoTime() - startNanos;
+        drainTimer.record(Duration.ofNanos(elapsedNanos));
+        abandonedRequests.increment(remainingRequests);
+        if (batchAbandoned) {
+            abandonedBatches.increment();
+        }
+
+        if (remainingRequests > 0 || batchAbandoned) {
+            log.warn("drain_timeout duration_ms={} abandoned_requests={} abandoned_evaluation_batch={} inflight={}",
+                    Duration.ofNanos(elapsedNanos).toMillis(), remainingRequests, batchAbandoned, remaining);
+        } else {
+            log.info("drain_complete duration_ms={} abandoned_requests=0 abandoned_evaluation_batch=false",
+                    Duration.ofNanos(elapsedNanos).toMillis());
+        }
+    }
+
+    private static boolean sleep(Duration duration) {
+        if (duration.isZero() || duration.isNegative()) {
+            return true;
+        }
+        try {
+            Thread.sleep(duration.toMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.observability_sandbox.lifecycle;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+import com.example.observability_sandbox.support.BoundedSeries;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts requests currently executing, per (endpoint, model), and gates admission during a drain.
+ * <p>
+ * A request is counted before the admission flag is checked, so once {@link #stopAdmitting()}
+ * returns every request that got a {@link Ticket} is visible in {@link #total()}.
+ */
+@Component
+public class InFlightRequestRegistry {
+
+    private static final String SERVICE_TAG = "service";
+    private static final String SERVICE_NAME = "los-app";
+    private final MeterRegistry registry;
+    private final BoundedSeries<SeriesKey, AtomicInteger> inFlight;
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicBoolean admitting = new AtomicBoolean(true);
+
+    public InFlightRequestRegistry(DrainProperties properties, MeterRegistry registry) {
+        this.registry = registry;
+        this.inFlight = new BoundedSeries<>(properties.getMaxSeries(),
+                key -> new SeriesKey(key.endpoint(), BoundedSeries.OTHER), this::newCounter);
+    }
+
+    /**
+     * Marks a request as in flight. Returns {@code null} when the instance is draining and the
+     * caller should reject the request; otherwise the ticket must be closed when the request ends.
+     */
+    public Ticket tryEnter(String endpoint, String model) {
+        AtomicInteger counter = inFlight.get(new SeriesKey(endpoint, model));
+        counter.incrementAndGet();
+        total.incrementAndGet();
+        if (!admitting.get()) {
+            counter.decrementAndGet();
+            total.decrementAndGet();
+            return null;
+        }
+        return new Ticket(counter);
+    }
+
+    public void stopAdmitting() {
+        admitting.set(false);
+    }
+
+    public boolean isAdmitting() {
+        return admitting.get();
+    }
+
+    public int total() {
+        return total.get();
+    }
+
+    /** Non-zero in-flight counts keyed by {@code endpoint|model}. */
+    public Map<String, Integer> snapshot() {
+        Map<String, Integer> snapshot = new LinkedHashMap<>();
+        inFlight.asMap().forEach((key, counter) -> {
+            int value = counter.get();
+            if (value > 0) {
+                snapshot.put(key.endpoint() + "|" + key.model(), value);
+            }
+        });
+        return snapshot;
+    }
+
+    private AtomicInteger newCounter(SeriesKey key) {
+        AtomicInteger created = new AtomicInteger();
+        Gauge.builder("llm_inflight_requests", created, AtomicInteger::get)
+                .description("Requests currently executing")
+                .tag(SERVICE_TAG, SERVICE_NAME)
+                .tag("endpoint", key.endpoint())
+                .tag("model", key.model())
+                .register(registry);
+        return created;
+    }
+
+    private record SeriesKey(String endpoint, String model) {
+    }
+
+    public final class Ticket implements AutoCloseable {
+
+        private final AtomicInteger counter;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Ticket(AtomicInteger counter) {
+            this.counter = counter;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                counter.decrementAndGet();
+                total.decrementAndGet();
+            }
+        }
+    }
+}
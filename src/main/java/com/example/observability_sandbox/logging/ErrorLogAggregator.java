@@ -0,0 +1,218 @@
+package com.example.observability_sandbox.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.observability_sandbox.support.BoundedSeries;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Flood protection for repeated error log lines. Per (model, error_type, region) and window, the
+ * first {@code error-log.verbatim-per-window} occurrences are logged as usual; the rest are only
+ * counted, and a single {@code generate_error_summary} line with counts and sample trace ids is
+ * written when the window closes. The trace ids are a uniform reservoir sample of the suppressed
+ * occurrences, not the first ones.
+ * <p>
+ * Closing retires every window before reading it: writers pin a window while they count, a window
+ * is only retired with no pins held, and writers that find it retired move to a fresh one. Every
+ * occurrence is therefore counted in exactly one summary.
+ */
+@Component
+public class ErrorLogAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(ErrorLogAggregator.class);
+    private static final String SERVICE_TAG = "service";
+    private static final String SERVICE_NAME = "los-app";
+
+    private final ErrorLogProperties properties;
+    private final BoundedSeries<ErrorKey, ErrorWindow> windows;
+    private final Counter loggedCounter;
+    private final Counter suppressedCounter;
+    // Double bits of the last window's suppressed/total ratio
+    private final AtomicLong lastSuppressionRatio = new AtomicLong(Double.doubleToLongBits(0.0));
+
+    public ErrorLogAggregator(ErrorLogProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.windows = new BoundedSeries<>(properties.getMaxKeys(),
+                key -> new ErrorKey(BoundedSeries.OTHER, key.errorType(), BoundedSeries.OTHER),
+                ignored -> new ErrorWindow(properties.getSampleTraceIds()));
+        this.loggedCounter = Counter.builder("llm_error_logs_total")
+                .tag("outcome", "logged")
+                .tag(SERVICE_TAG, SERVICE_NAME)
+                .description("generate_error events written verbatim")
+                .register(registry);
+        this.suppressedCounter = Counter.builder("llm_error_logs_total")
+                .tag("outcome", "suppressed")
+                .tag(SERVICE_TAG, SERVICE_NAME)
+                .description("generate_error events folded into a summary line")
+                .register(registry);
+        Gauge.builder("llm_error_log_suppression_ratio", lastSuppressionRatio,
+                        bits -> Double.longBitsToDouble(bits.get()))
+                .tag(SERVICE_TAG, SERVICE_NAME)
+                .description("Fraction of generate_error events suppressed in the last completed window")
+                .register(registry);
+    }
+
+    /**
+     * Counts one occurrence and returns {@code true} if the caller should log it verbatim.
+     */
+    public boolean shouldLog(String model, String errorType, String region, String traceId) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        ErrorKey key = new ErrorKey(orUnknown(model), orUnknown(errorType), orUnknown(region));
+        while (true) {
+            ErrorWindow window = windows.get(key);
+            if (!window.pin()) {
+                // Being closed; closeWindow removes it right after retiring it
+                Thread.onSpinWait();
+                continue;
+            }
+            try {
+                long occurrence = window.occurrences.incrementAndGet();
+                if (occurrence <= properties.getVerbatimPerWindow()) {
+                    loggedCounter.increment();
+                    return true;
+                }
+                window.sample(occurrence - properties.getVerbatimPerWindow(), traceId);
+                suppressedCounter.increment();
+                return false;
+            } finally {
+                window.unpin();
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "#{T(java.time.Duration).parse('${error-log.window:PT30S}').toMillis()}",
+            fixedRateString = "#{T(java.time.Duration).parse('${error-log.window:PT30S}').toMillis()}")
+    public synchronized void closeWindow() {
+        long total = 0;
+        long suppressed = 0;
+        long windowSeconds = properties.getWindow().toSeconds();
+        for (var entry : windows.asMap().entrySet()) {
+            ErrorKey key = entry.getKey();
+            ErrorWindow window = entry.getValue();
+            while (!window.retire()) {
+                // A writer is between pin and unpin, which is a handful of instructions
+                Thread.onSpinWait();
+            }
+            windows.asMap().remove(key, window);
+            long occurrences = window.occurrences.get();
+            if (occurrences == 0) {
+                continue;
+            }
+            long keySuppressed = Math.max(0, occurrences - properties.getVerbatimPerWindow());
+            total += occurrences;
+            suppressed += keySuppressed;
+            List<String> samples = window.samples();
+            if (keySuppressed == 0) {
+                continue;
+            }
+            MDC.put("model", key.model());
+            MDC.put("region", key.region());
+            MDC.put("error_type", key.errorType());
+            try {
+                log.error("generate_error_summary model={} error_type={} region={} occurrences={} suppressed={} window_s={} sample_trace_ids={}",
+                        key.model(), key.errorType(), key.region(), occurrences, keySuppressed, windowSeconds,
+                        String.join(",", samples));
+            } finally {
+                MDC.remove("model");
+                MDC.remove("region");
+                MDC.remove("error_type");
+            }
+        }
+        lastSuppressionRatio.set(Double.doubleToLongBits(total == 0 ? 0.0 : (double) suppressed / total));
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        closeWindow();
+    }
+
+    private static String orUnknown(String value) {
+        return value != null ? value : "unknown";
+    }
+
+    private record ErrorKey(String model, String errorType, String region) {
+    }
+
+    private static final class ErrorWindow {
+        private static final int RETIRED = -1;
+
+        private final AtomicLong occurrences = new AtomicLong();
+        private final AtomicReferenceArray<String> samples;
+        // Writers currently counting, or RETIRED once closeWindow owns the window
+        private final AtomicInteger pins = new AtomicInteger();
+        // Set first when closing so a steady stream of writers cannot keep pins above zero
+        private volatile boolean closing;
+
+        private ErrorWindow(int sampleSize) {
+            this.samples = new AtomicReferenceArray<>(Math.max(0, sampleSize));
+        }
+
+        private boolean pin() {
+            int current;
+            do {
+                current = pins.get();
+                if (current == RETIRED || closing) {
+                    return false;
+                }
+            } while (!pins.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        private void unpin() {
+            pins.decrementAndGet();
+        }
+
+        private boolean retire() {
+            closing = true;
+            return pins.compareAndSet(0, RETIRED);
+        }
+
+        /**
+         * Reservoir sampling (Algorithm R) over suppressed occurrences: the {@code index}-th one
+         * (1-based) replaces a random slot with probability {@code size / index}, so every
+         * suppressed trace id ends up in the sample with the same probability.
+         */
+        private void sample(long index, String traceId) {
+            int size = samples.length();
+            if (traceId == null || size == 0) {
+                return;
+            }
+            if (index <= size) {
+                samples.set((int) (index - 1), traceId);
+                return;
+            }
+            long slot = ThreadLocalRandom.current().nextLong(index);
+            if (slot < size) {
+                samples.set((int) slot, traceId);
+            }
+        }
+
+        private List<String> samples() {
+            List<String> sampled = new ArrayList<>(samples.length());
+            for (int i = 0; i < samples.length(); i++) {
+                String traceId = samples.get(i);
+                if (traceId != null) {
+                    sampled.add(traceId);
+                }
+            }
+            return sampled;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.observability_sandbox.logging;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "error-log")
+public class ErrorLogProperties {
+
+    private boolean enabled = true;
+    private Duration window = Duration.ofSeconds(30);
+    private int verbatimPerWindow = 5;
+    private int sampleTraceIds = 3;
+    private int maxKeys = 1000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public int getVerbatimPerWindow() {
+        return verbatimPerWindow;
+    }
+
+    public void setVerbatimPerWindow(int verbatimPerWindow) {
+        this.verbatimPerWindow = verbatimPerWindow;
+    }
+
+    public int getSampleTraceIds() {
+        return sampleTraceIds;
+    }
+
+    public void setSampleTraceIds(int sampleTraceIds) {
+        this.sampleTraceIds = sampleTraceIds;
+    }
+
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+}
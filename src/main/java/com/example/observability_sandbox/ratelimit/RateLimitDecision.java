@@ -0,0 +1,43 @@
+package com.example.observability_sandbox.ratelimit;
+
+/**
+ * Outcome of a rate-limit check. Nanosecond fields are converted to whole seconds
+ * for the {@code X-RateLimit-*} and {@code Retry-After} headers.
+ */
+public record RateLimitDecision(
+        boolean allowed,
+        String scope,
+        int limit,
+        int remaining,
+        long resetNanos,
+        long retryAfterNanos
+) {
+
+    static RateLimitDecision allowed(int limit, int remaining, long resetNanos) {
+        return new RateLimitDecision(true, null, limit, remaining, resetNanos, 0L);
+    }
+
+    static RateLimitDecision rejected(int limit, long resetNanos, long retryAfterNanos) {
+        return new RateLimitDecision(false, null, limit, 0, resetNanos, retryAfterNanos);
+    }
+
+    static RateLimitDecision unlimited() {
+        return new RateLimitDecision(true, null, Integer.MAX_VALUE, Integer.MAX_VALUE, 0L, 0L);
+    }
+
+    RateLimitDecision withScope(String scope) {
+        return new RateLimitDecision(allowed, scope, limit, remaining, resetNanos, retryAfterNanos);
+    }
+
+    public long resetSeconds() {
+        return ceilSeconds(resetNanos);
+    }
+
+    public long retryAfterSeconds() {
+        return Math.max(1L, ceilSeconds(retryAfterNanos));
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return (nanos + 999_999_999L) / 1_000_000_000L;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.observability_sandbox.ratelimit;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ratelimit")
+public class RateLimitProperties {
+
+    private boolean enabled = false;
+    private String defaultTier = "standard";
+    private Map<String, Quota> tiers = new HashMap<>(Map.of(
+            "free", new Quota(5, 1.0),
+            "standard", new Quota(20, 5.0),
+            "premium", new Quota(100, 50.0)));
+    private Map<String, String> userTiers = new HashMap<>();
+    private Quota region = new Quota(500, 200.0);
+    private Duration idleTimeout = Duration.ofMinutes(5);
+    private Duration evictionInterval = Duration.ofSeconds(30);
+    private int maxTrackedKeys = 1_000_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDefaultTier() {
+        return defaultTier;
+    }
+
+    public void setDefaultTier(String defaultTier) {
+        this.defaultTier = defaultTier;
+    }
+
+    public Map<String, Quota> getTiers() {
+        return tiers;
+    }
+
+    public void setTiers(Map<String, Quota> tiers) {
+        this.tiers = tiers;
+    }
+
+    public Map<String, String> getUserTiers() {
+        return userTiers;
+    }
+
+    public void setUserTiers(Map<String, String> userTiers) {
+        this.userTiers = userTiers;
+    }
+
+    public Quota getRegion() {
+        return region;
+    }
+
+    public void setRegion(Quota region) {
+        this.region = region;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public Duration getEvictionInterval() {
+        return evictionInterval;
+    }
+
+    public void setEvictionInterval(Duration evictionInterval) {
+        this.evictionInterval = evictionInterval;
+    }
+
+    public int getMaxTrackedKeys() {
+        return maxTrackedKeys;
+    }
+
+    public void setMaxTrackedKeys(int maxTrackedKeys) {
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    /**
+     * Bucket shape for a tier: {@code capacity} is the burst size and
+     * {@code refillPerSecond} the sustained rate.
+     */
+    public static class Quota {
+
+        private int capacity;
+        private double refillPerSecond;
+
+        public Quota() {
+        }
+
+        public Quota(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
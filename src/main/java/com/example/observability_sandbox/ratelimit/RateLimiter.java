@@ -0,0 +1,165 @@
+package com.example.observability_sandbox.ratelimit;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Per-user and per-region token buckets for /generate.
+ * Buckets live in {@link ConcurrentHashMap}s and are only created on first use; the hot path
+ * is a map lookup plus a CAS. Idle buckets are swept periodically; between sweeps, users beyond
+ * {@code max-tracked-keys} share one overflow bucket per tier and unseen regions beyond the same cap
+ * share one overflow region bucket, so neither map outgrows the cap.
+ */
+@Component
+public class RateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
+    private static final String SERVICE_TAG = "service";
+    private static final String SERVICE_NAME = "los-app";
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<String, TokenBucket> userBuckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, TokenBucket> regionBuckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, TokenBucket> overflowBuckets = new ConcurrentHashMap<>();
+    private final TokenBucket regionOverflowBucket;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+        RateLimitProperties.Quota regionQuota = properties.getRegion();
+        this.regionOverflowBucket = new TokenBucket(regionQuota.getCapacity(), regionQuota.getRefillPerSecond(),
+                System.nanoTime());
+
+        Gauge.builder("llm_ratelimit_tracked_keys", userBuckets, ConcurrentHashMap::size)
+                .tag("scope", "user")
+                .tag(SERVICE_TAG, SERVICE_NAME)
+                .description("Number of user token buckets currently held in memory")
+                .register(registry);
+        Gauge.builder("llm_ratelimit_tracked_keys", regionBuckets, ConcurrentHashMap::size)
+                .tag("scope", "region")
+                .tag(SERVICE_TAG, SERVICE_NAME)
+                .description("Number of region token buckets currently held in memory")
+                .register(registry);
+    }
+
+    /**
+     * Takes one token from the user bucket and then the region bucket. A user rejected by their own
+     * quota does not consume regional capacity, and a request rejected by its region gets its user
+     * token back.
+     */
+    public RateLimitDecision tryAcquire(String userId, String region) {
+        if (!properties.isEnabled()) {
+            return RateLimitDecision.unlimited();
+        }
+        long now = System.nanoTime();
+        String tier = tierFor(userId);
+        RateLimitProperties.Quota quota = properties.getTiers().get(tier);
+
+        TokenBucket userBucket = quota != null ? userBucket(userId, tier, quota, now) : null;
+        RateLimitDecision userDecision = userBucket != null
+                ? userBucket.tryAcquire(now).withScope("user")
+                : RateLimitDecision.unlimited().withScope("user");
+        if (!userDecision.allowed()) {
+            recordThrottle("user", tier);
+            return userDecision;
+        }
+
+        RateLimitDecision regionDecision = regionBucket(region, tier, now).tryAcquire(now).withScope("region");
+        if (!regionDecision.allowed()) {
+            if (userBucket != null) {
+                userBucket.refund();
+            }
+            recordThrottle("region", tier);
+            return regionDecision;
+        }
+        return userDecision.remaining() <= regionDecision.remaining() ? userDecision : regionDecision;
+    }
+
+    public String tierFor(String userId) {
+        String tier = userId != null ? properties.getUserTiers().get(userId) : null;
+        if (tier == null || !properties.getTiers().containsKey(tier)) {
+            return properties.getDefaultTier();
+        }
+        return tier;
+    }
+
+    @Scheduled(fixedDelayString = "#{T(java.time.Duration).parse('${ratelimit.eviction-interval:PT30S}').toMillis()}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        long idleNanos = properties.getIdleTimeout().toNanos();
+        int before = userBuckets.size() + regionBuckets.size();
+        userBuckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+        regionBuckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+        int evicted = before - (userBuckets.size() + regionBuckets.size());
+        if (evicted > 0) {
+            log.debug("ratelimit_evicted buckets={} remaining_users={} remaining_regions={}",
+                    evicted, userBuckets.size(), regionBuckets.size());
+        }
+    }
+
+    int trackedUsers() {
+        return userBuckets.size();
+    }
+
+    int trackedRegions() {
+        return regionBuckets.size();
+    }
+
+    private TokenBucket userBucket(String userId, String tier, RateLimitProperties.Quota quota, long now) {
+        String key = userId != null ? userId : "anonymous";
+        TokenBucket bucket = userBuckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (userBuckets.size() >= properties.getMaxTrackedKeys()) {
+            // Over budget until the next sweep: new users share their tier's overflow bucket.
+            // Concurrent first requests can overshoot the cap by at most the number of request threads.
+            recordOverflow("user", tier);
+            return overflowBuckets.computeIfAbsent(tier,
+                    ignored -> new TokenBucket(quota.getCapacity(), quota.getRefillPerSecond(), now));
+        }
+        return userBuckets.computeIfAbsent(key,
+                ignored -> new TokenBucket(quota.getCapacity(), quota.getRefillPerSecond(), now));
+    }
+
+    private TokenBucket regionBucket(String region, String tier, long now) {
+        String key = region != null ? region.toLowerCase(Locale.ROOT) : "unknown";
+        TokenBucket bucket = regionBuckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (regionBuckets.size() >= properties.getMaxTrackedKeys()) {
+            // X-Region is client-controlled, so made-up regions past the cap all share one bucket.
+            recordOverflow("region", tier);
+            return regionOverflowBucket;
+        }
+        RateLimitProperties.Quota quota = properties.getRegion();
+        return regionBuckets.computeIfAbsent(key,
+                ignored -> new TokenBucket(quota.getCapacity(), quota.getRefillPerSecond(), now));
+    }
+
+    private void recordOverflow(String scope, String tier) {
+        registry.counter("llm_ratelimit_overflow_total",
+                "scope", scope,
+                "tier", tier,
+                SERVICE_TAG, SERVICE_NAME)
+                .increment();
+    }
+
+    private void recordThrottle(String scope, String tier) {
+        registry.counter("llm_ratelimit_throttled_total",
+                "scope", scope,
+                "tier", tier,
+                SERVICE_TAG, SERVICE_NAME)
+                .increment();
+    }
+}
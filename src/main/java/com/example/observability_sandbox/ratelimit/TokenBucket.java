@@ -0,0 +1,59 @@
+package com.example.observability_sandbox.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a GCRA (generic cell rate algorithm).
+ * The whole bucket state is a single "theoretical arrival time" so a take is one CAS.
+ */
+final class TokenBucket {
+
+    private final int capacity;
+    private final long emissionIntervalNanos;
+    private final long burstWindowNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        this.capacity = Math.max(1, capacity);
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / Math.max(refillPerSecond, 1e-9)));
+        this.burstWindowNanos = emissionIntervalNanos * this.capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    RateLimitDecision tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long base = Math.max(tat, nowNanos);
+            long newTat = base + emissionIntervalNanos;
+            long backlog = newTat - nowNanos;
+            if (backlog > burstWindowNanos) {
+                long retryAfter = backlog - burstWindowNanos;
+                return RateLimitDecision.rejected(capacity, base - nowNanos, retryAfter);
+            }
+            if (theoreticalArrival.compareAndSet(tat, newTat)) {
+                int remaining = (int) ((burstWindowNanos - backlog) / emissionIntervalNanos);
+                return RateLimitDecision.allowed(capacity, remaining, backlog);
+            }
+        }
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire} when the request was rejected further down the
+     * chain. Moving the arrival time back below {@code now} is harmless: takes clamp it to {@code now}.
+     */
+    void refund() {
+        theoreticalArrival.addAndGet(-emissionIntervalNanos);
+    }
+
+    /**
+     * A bucket is idle once it has fully refilled and nobody touched it for {@code idleNanos};
+     * dropping it is indistinguishable from keeping it.
+     */
+    boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - theoreticalArrival.get() >= idleNanos;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
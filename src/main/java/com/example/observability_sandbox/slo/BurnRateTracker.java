@@ -0,0 +1,84 @@
+package com.example.observability_sandbox.slo;
+
+import java.util.Arrays;
+
+/**
+ * Good/bad event counts for one objective in a ring of fixed-size time buckets.
+ * Each tracked window keeps a running sum that is bumped on every event and decremented when a
+ * bucket falls out of it, so recording and reading are O(number of windows) regardless of how
+ * long the windows are.
+ */
+final class BurnRateTracker {
+
+    private final long bucketMillis;
+    private final int[] windowBuckets;
+    private final long[] good;
+    private final long[] bad;
+    private final long[] windowGood;
+    private final long[] windowBad;
+    private long currentBucket = Long.MIN_VALUE;
+
+    BurnRateTracker(long bucketMillis, int[] windowBuckets) {
+        this.bucketMillis = bucketMillis;
+        this.windowBuckets = windowBuckets.clone();
+        int ringSize = 1;
+        for (int buckets : windowBuckets) {
+            ringSize = Math.max(ringSize, buckets);
+        }
+        this.good = new long[ringSize];
+        this.bad = new long[ringSize];
+        this.windowGood = new long[windowBuckets.length];
+        this.windowBad = new long[windowBuckets.length];
+    }
+
+    synchronized void record(long nowMillis, boolean isGood) {
+        advance(nowMillis);
+        int slot = slot(currentBucket);
+        if (isGood) {
+            good[slot]++;
+            for (int w = 0; w < windowGood.length; w++) {
+                windowGood[w]++;
+            }
+        } else {
+            bad[slot]++;
+            for (int w = 0; w < windowBad.length; w++) {
+                windowBad[w]++;
+            }
+        }
+    }
+
+    /**
+     * Returns {@code {good, bad}} for the window at {@code windowIndex} as of {@code nowMillis}.
+     */
+    synchronized long[] counts(long nowMillis, int windowIndex) {
+        advance(nowMillis);
+        return new long[] {windowGood[windowIndex], windowBad[windowIndex]};
+    }
+
+    private void advance(long nowMillis) {
+        long bucket = nowMillis / bucketMillis;
+        if (currentBucket == Long.MIN_VALUE || bucket - currentBucket >= good.length) {
+            Arrays.fill(good, 0L);
+            Arrays.fill(bad, 0L);
+            Arrays.fill(windowGood, 0L);
+            Arrays.fill(windowBad, 0L);
+            currentBucket = bucket;
+            return;
+        }
+        for (long next = currentBucket + 1; next <= bucket; next++) {
+            for (int w = 0; w < windowBuckets.length; w++) {
+                int leaving = slot(next - windowBuckets[w]);
+                windowGood[w] -= good[leaving];
+                windowBad[w] -= bad[leaving];
+            }
+            int entering = slot(next);
+            good[entering] = 0L;
+            bad[entering] = 0L;
+        }
+        currentBucket = Math.max(currentBucket, bucket);
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) good.length);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.observability_sandbox.slo;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/slo")
+public class SloController {
+
+    private final SloEvaluator sloEvaluator;
+
+    public SloController(SloEvaluator sloEvaluator) {
+        this.sloEvaluator = sloEvaluator;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<SloStatus>> status(
+            @RequestParam(name = "firing", defaultValue = "false") boolean firingOnly) {
+        List<SloStatus> statuses = sloEvaluator.statuses();
+        if (firingOnly) {
+            statuses = statuses.stream()
+                    .filter(status -> status.alerts().stream().anyMatch(SloStatus.AlertState::firing))
+                    .toList();
+        }
+        return ResponseEntity.ok(statuses);
+    }
+}
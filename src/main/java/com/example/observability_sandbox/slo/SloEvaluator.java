@@ -0,0 +1,174 @@
+package com.example.observability_sandbox.slo;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.example.observability_sandbox.support.BoundedSeries;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Multi-window, multi-burn-rate SLO evaluation computed inside the app, so an SLO signal exists even
+ * when Prometheus is slow or down. Each (objective, endpoint, model) series owns a
+ * {@link BurnRateTracker}; burn rates are exposed as {@code slo_burn_rate} gauges and via /api/slo.
+ */
+@Component
+public class SloEvaluator {
+
+    private static final String SERVICE_TAG = "service";
+    private static final String SERVICE_NAME = "los-app";
+
+    private final SloProperties properties;
+    private final MeterRegistry registry;
+    private final List<Duration> windows;
+    private final long bucketMillis;
+    private final BoundedSeries<SeriesKey, BurnRateTracker> trackers;
+
+    public SloEvaluator(SloProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+        this.bucketMillis = Math.max(1L, properties.getBucket().toMillis());
+        List<Duration> distinct = new ArrayList<>();
+        List<String> unreachable = new ArrayList<>();
+        for (Map.Entry<String, SloProperties.Objective> entry : properties.getObjectives().entrySet()) {
+            SloProperties.Objective objective = entry.getValue();
+            for (SloProperties.BurnRateAlert alert : properties.alertsFor(objective)) {
+                if (!distinct.contains(alert.getShortWindow())) {
+                    distinct.add(alert.getShortWindow());
+                }
+                if (!distinct.contains(alert.getLongWindow())) {
+                    distinct.add(alert.getLongWindow());
+                }
+                if (alert.getBurnRate() > objective.maxBurnRate()) {
+                    unreachable.add(String.format(Locale.ROOT, "%s %s alert burn-rate %.1f > %.1f (1/(1-%s))",
+                            entry.getKey(), alert.getSeverity(), alert.getBurnRate(), objective.maxBurnRate(),
+                            objective.getTarget()));
+                }
+            }
+        }
+        if (!unreachable.isEmpty()) {
+            throw new IllegalStateException("SLO alerts that can never fire; set slo.objectives.<name>.alerts: "
+                    + String.join("; ", unreachable));
+        }
+        this.windows = List.copyOf(distinct);
+        this.trackers = new BoundedSeries<>(properties.getMaxSeries(),
+                key -> new SeriesKey(key.objective(), key.endpoint(), BoundedSeries.OTHER), this::newTracker);
+    }
+
+    public void record(String endpoint, String model, long latencyNanos, boolean error) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, SloProperties.Objective> entry : properties.getObjectives().entrySet()) {
+            SloProperties.Objective objective = entry.getValue();
+            boolean good = objective.getLatencyThreshold() != null
+                    ? latencyNanos <= objective.getLatencyThreshold().toNanos()
+                    : !error;
+            trackers.get(new SeriesKey(entry.getKey(), endpoint, model)).record(now, good);
+        }
+    }
+
+    public List<SloStatus> statuses() {
+        long now = System.currentTimeMillis();
+        List<SloStatus> statuses = new ArrayList<>(trackers.asMap().size());
+        trackers.asMap().forEach((key, tracker) -> {
+            SloProperties.Objective objective = properties.getObjectives().get(key.objective());
+            double[] burnRates = new double[windows.size()];
+            List<SloStatus.WindowState> windowStates = new ArrayList<>(windows.size());
+            for (int w = 0; w < windows.size(); w++) {
+                long[] counts = tracker.counts(now, w);
+                double ratio = errorRatio(counts);
+                burnRates[w] = burnRate(ratio, objective.getTarget());
+                windowStates.add(new SloStatus.WindowState(label(windows.get(w)), counts[0], counts[1], ratio, burnRates[w]));
+            }
+            List<SloProperties.BurnRateAlert> alerts = properties.alertsFor(objective);
+            List<SloStatus.AlertState> alertStates = new ArrayList<>(alerts.size());
+            for (SloProperties.BurnRateAlert alert : alerts) {
+                alertStates.add(new SloStatus.AlertState(alert.getSeverity(),
+                        label(alert.getShortWindow()), label(alert.getLongWindow()), alert.getBurnRate(),
+                        isFiring(alert, burnRates)));
+            }
+            statuses.add(new SloStatus(key.objective(), key.endpoint(), key.model(), objective.getTarget(),
+                    windowStates, alertStates));
+        });
+        return statuses;
+    }
+
+    private BurnRateTracker newTracker(SeriesKey key) {
+        int[] windowBuckets = new int[windows.size()];
+        for (int w = 0; w < windows.size(); w++) {
+            windowBuckets[w] = (int) Math.max(1L, windows.get(w).toMillis() / bucketMillis);
+        }
+        BurnRateTracker tracker = new BurnRateTracker(bucketMillis, windowBuckets);
+        SloProperties.Objective objective = properties.getObjectives().get(key.objective());
+        double target = objective.getTarget();
+
+        for (int w = 0; w < windows.size(); w++) {
+            int windowIndex = w;
+            Gauge.builder("slo_burn_rate", tracker,
+                            t -> burnRate(errorRatio(t.counts(System.currentTimeMillis(), windowIndex)), target))
+                    .tag("objective", key.objective())
+                    .tag("endpoint", key.endpoint())
+                    .tag("model", key.model())
+                    .tag("window", label(windows.get(w)))
+                    .tag(SERVICE_TAG, SERVICE_NAME)
+                    .description("Error budget burn rate over the window (1.0 = exactly on budget)")
+                    .register(registry);
+        }
+        for (SloProperties.BurnRateAlert alert : properties.alertsFor(objective)) {
+            int shortIndex = windows.indexOf(alert.getShortWindow());
+            int longIndex = windows.indexOf(alert.getLongWindow());
+            Gauge.builder("slo_burn_rate_alert_active", tracker, t -> {
+                        long now = System.currentTimeMillis();
+                        double shortRate = burnRate(errorRatio(t.counts(now, shortIndex)), target);
+                        double longRate = burnRate(errorRatio(t.counts(now, longIndex)), target);
+                        return shortRate >= alert.getBurnRate() && longRate >= alert.getBurnRate() ? 1.0 : 0.0;
+                    })
+                    .tag("objective", key.objective())
+                    .tag("endpoint", key.endpoint())
+                    .tag("model", key.model())
+                    .tag("severity", alert.getSeverity())
+                    .tag("windows", label(alert.getShortWindow()) + "/" + label(alert.getLongWindow()))
+                    .tag(SERVICE_TAG, SERVICE_NAME)
+                    .description("1 when both burn-rate windows exceed the alert threshold")
+                    .register(registry);
+        }
+        return tracker;
+    }
+
+    private boolean isFiring(SloProperties.BurnRateAlert alert, double[] burnRates) {
+        return burnRates[windows.indexOf(alert.getShortWindow())] >= alert.getBurnRate()
+                && burnRates[windows.indexOf(alert.getLongWindow())] >= alert.getBurnRate();
+    }
+
+    private static double errorRatio(long[] counts) {
+        long total = counts[0] + counts[1];
+        return total == 0 ? 0.0 : (double) counts[1] / total;
+    }
+
+    private static double burnRate(double errorRatio, double target) {
+        double budget = 1.0 - target;
+        return budget <= 0.0 ? 0.0 : errorRatio / budget;
+    }
+
+    private static String label(Duration window) {
+        long seconds = window.toSeconds();
+        if (seconds % 3600 == 0) {
+            return seconds / 3600 + "h";
+        }
+        if (seconds % 60 == 0) {
+            return seconds / 60 + "m";
+        }
+        return seconds + "s";
+    }
+
+    private record SeriesKey(String objective, String endpoint, String model) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.observability_sandbox.slo;
+
+import java.util.List;
+
+/**
+ * Burn-rate state of one objective for one (endpoint, model) series.
+ */
+public record SloStatus(
+        String objective,
+        String endpoint,
+        String model,
+        double target,
+        List<WindowState> windows,
+        List<AlertState> alerts
+) {
+
+    public record WindowState(String window, long good, long bad, double errorRatio, double burnRate) {
+    }
+
+    public record AlertState(String severity, String shortWindow, String longWindow, double burnRateThreshold,
+                             boolean firing) {
+    }
+}
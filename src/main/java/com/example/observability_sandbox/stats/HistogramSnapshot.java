@@ -0,0 +1,81 @@
+package com.example.observability_sandbox.stats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable copy of bucket counts plus request/error totals.
+ * Snapshots from different keys, seconds or pods can be combined with {@link #merge}
+ * before asking for percentiles, which is what makes them aggregatable.
+ */
+public final class HistogramSnapshot {
+
+    private final long[] counts;
+    private final long total;
+    private final long errors;
+
+    HistogramSnapshot(long[] counts, long total, long errors) {
+        this.counts = counts;
+        this.total = total;
+        this.errors = errors;
+    }
+
+    public static HistogramSnapshot empty() {
+        return new HistogramSnapshot(new long[LatencyBuckets.BUCKET_COUNT], 0L, 0L);
+    }
+
+    public HistogramSnapshot merge(HistogramSnapshot other) {
+        long[] merged = counts.clone();
+        for (int i = 0; i < merged.length; i++) {
+            merged[i] += other.counts[i];
+        }
+        return new HistogramSnapshot(merged, total + other.total, errors + other.errors);
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public long errors() {
+        return errors;
+    }
+
+    public double errorRate() {
+        return total == 0 ? 0.0 : (double) errors / total;
+    }
+
+    /**
+     * Latency at the given quantile (0..1) in milliseconds, or 0 when nothing was recorded.
+     */
+    public double quantileMillis(double quantile) {
+        long recorded = 0;
+        for (long count : counts) {
+            recorded += count;
+        }
+        if (recorded == 0) {
+            return 0.0;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(quantile * recorded));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return LatencyBuckets.valueOf(i) / 1000.0;
+            }
+        }
+        return LatencyBuckets.valueOf(counts.length - 1) / 1000.0;
+    }
+
+    /**
+     * Non-empty buckets keyed by representative value in microseconds, for merging across pods.
+     */
+    public Map<Long, Long> nonEmptyBuckets() {
+        Map<Long, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                buckets.put(LatencyBuckets.valueOf(i), counts[i]);
+            }
+        }
+        return buckets;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.observability_sandbox.stats;
+
+/**
+ * Log-linear bucket layout shared by the live latency recorders.
+ * Values are microseconds; each power of two is split into {@value #SUB_BUCKETS} linear
+ * sub-buckets (HdrHistogram-style, roughly 6% worst-case relative error), capped at ~134 s.
+ */
+final class LatencyBuckets {
+
+    static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int MAX_MAGNITUDE = 26;
+    static final long MAX_VALUE_MICROS = (1L << (MAX_MAGNITUDE + 1)) - 1;
+    static final int BUCKET_COUNT = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private LatencyBuckets() {
+    }
+
+    static int indexOf(long micros) {
+        long value = Math.min(Math.max(micros, 0L), MAX_VALUE_MICROS);
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * Midpoint of the bucket, used as the reported value for a percentile.
+     */
+    static long valueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lower = (long) (index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lower + ((1L << shift) >>> 1);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.observability_sandbox.stats;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.observability_sandbox.stats.LiveStatsResponse.LatencySummary;
+import com.example.observability_sandbox.stats.LiveStatsResponse.SecondStats;
+import com.example.observability_sandbox.stats.LiveStatsResponse.SeriesStats;
+
+@RestController
+@RequestMapping("/api/stats")
+public class LiveStatsController {
+
+    private final LiveStatsRegistry registry;
+
+    public LiveStatsController(LiveStatsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @GetMapping("/live")
+    public ResponseEntity<LiveStatsResponse> live(
+            @RequestParam(name = "seconds", defaultValue = "10") int seconds,
+            @RequestParam(name = "model", required = false) String model,
+            @RequestParam(name = "region", required = false) String region,
+            @RequestParam(name = "endpoint", required = false) String endpoint,
+            @RequestParam(name = "buckets", defaultValue = "false") boolean includeBuckets
+    ) {
+        int window = Math.max(1, Math.min(seconds, registry.windowSeconds()));
+        HistogramSnapshot overall = HistogramSnapshot.empty();
+        List<SeriesStats> series = new ArrayList<>();
+
+        for (LiveStatsRegistry.Series entry : registry.snapshot(window, model, region, endpoint)) {
+            HistogramSnapshot merged = HistogramSnapshot.empty();
+            List<SecondStats> perSecond = new ArrayList<>(entry.seconds().size());
+            for (SlidingWindowRecorder.SecondSnapshot second : entry.seconds()) {
+                merged = merged.merge(second.histogram());
+                perSecond.add(SecondStats.of(second.epochSecond(), second.histogram()));
+            }
+            overall = overall.merge(merged);
+            series.add(new SeriesStats(entry.key().model(), entry.key().region(), entry.key().endpoint(),
+                    LatencySummary.of(merged, window, includeBuckets), perSecond));
+        }
+
+        return ResponseEntity.ok(new LiveStatsResponse(Instant.now(), window,
+                LatencySummary.of(overall, window, includeBuckets), series));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.observability_sandbox.stats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.example.observability_sandbox.support.BoundedSeries;
+
+/**
+ * In-process sliding-window latency recorders keyed by (model, region, endpoint).
+ * At most {@code stats.live.max-series} series are kept; see {@link BoundedSeries}.
+ */
+@Component
+public class LiveStatsRegistry {
+
+    private final LiveStatsProperties properties;
+    private final BoundedSeries<SeriesKey, SlidingWindowRecorder> recorders;
+
+    public LiveStatsRegistry(LiveStatsProperties properties) {
+        this.properties = properties;
+        this.recorders = new BoundedSeries<>(properties.getMaxSeries(),
+                key -> new SeriesKey(BoundedSeries.OTHER, BoundedSeries.OTHER, key.endpoint()),
+                ignored -> new SlidingWindowRecorder(properties.getWindowSeconds()));
+    }
+
+    public void record(String model, String region, String endpoint, long latencyNanos, boolean error) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long epochSecond = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        recorders.get(new SeriesKey(model, region, endpoint))
+                .record(epochSecond, TimeUnit.NANOSECONDS.toMicros(latencyNanos), error);
+    }
+
+    public int windowSeconds() {
+        return properties.getWindowSeconds();
+    }
+
+    /**
+     * Per-second snapshots for every series matching the (nullable) filters.
+     */
+    public List<Series> snapshot(int seconds, String model, String region, String endpoint) {
+        long nowEpochSecond = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        List<Series> result = new ArrayList<>();
+        recorders.asMap().forEach((key, recorder) -> {
+            if (matches(model, key.model()) && matches(region, key.region()) && matches(endpoint, key.endpoint())) {
+                result.add(new Series(key, recorder.perSecond(nowEpochSecond, seconds)));
+            }
+        });
+        return result;
+    }
+
+    private static boolean matches(String filter, String value) {
+        return filter == null || filter.isBlank() || filter.equals(value);
+    }
+
+    public record SeriesKey(String model, String region, String endpoint) {
+    }
+
+    record Series(SeriesKey key, List<SlidingWindowRecorder.SecondSnapshot> seconds) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.observability_sandbox.stats;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Response payload for GET /api/stats/live.
+ */
+public record LiveStatsResponse(
+        Instant generatedAt,
+        int windowSeconds,
+        LatencySummary overall,
+        List<SeriesStats> series
+) {
+
+    public record SeriesStats(
+            String model,
+            String region,
+            String endpoint,
+            LatencySummary summary,
+            List<SecondStats> seconds
+    ) {
+    }
+
+    public record LatencySummary(
+            long requests,
+            double throughputPerSecond,
+            double errorRate,
+            double p50Ms,
+            double p99Ms,
+            double p999Ms,
+            @JsonInclude(JsonInclude.Include.NON_NULL) Map<Long, Long> bucketsMicros
+    ) {
+
+        static LatencySummary of(HistogramSnapshot snapshot, int seconds, boolean includeBuckets) {
+            return new LatencySummary(
+                    snapshot.total(),
+                    seconds == 0 ? 0.0 : (double) snapshot.total() / seconds,
+                    snapshot.errorRate(),
+                    snapshot.quantileMillis(0.5),
+                    snapshot.quantileMillis(0.99),
+                    snapshot.quantileMillis(0.999),
+                    includeBuckets ? snapshot.nonEmptyBuckets() : null);
+        }
+    }
+
+    public record SecondStats(
+            long epochSecond,
+            long requests,
+            long errors,
+            double p50Ms,
+            double p99Ms,
+            double p999Ms
+    ) {
+
+        static SecondStats of(long epochSecond, HistogramSnapshot snapshot) {
+            return new SecondStats(epochSecond, snapshot.total(), snapshot.errors(),
+                    snapshot.quantileMillis(0.5), snapshot.quantileMillis(0.99), snapshot.quantileMillis(0.999));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.observability_sandbox.stats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Ring of one-second latency histograms. Recording is a handful of atomic increments with no
+ * locks; a slot is recycled by the first writer that lands in a new second. Writers racing that
+ * recycle may lose a sample at the second boundary, which is acceptable for a live view.
+ */
+final class SlidingWindowRecorder {
+
+    private final Slot[] slots;
+
+    SlidingWindowRecorder(int windowSeconds) {
+        this.slots = new Slot[Math.max(2, windowSeconds)];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    void record(long epochSecond, long latencyMicros, boolean error) {
+        Slot slot = slots[(int) Math.floorMod(epochSecond, (long) slots.length)];
+        long current = slot.epochSecond.get();
+        if (current != epochSecond) {
+            if (current > epochSecond) {
+                return;
+            }
+            if (slot.epochSecond.compareAndSet(current, epochSecond)) {
+                slot.reset();
+            }
+        }
+        slot.counts.incrementAndGet(LatencyBuckets.indexOf(latencyMicros));
+        slot.total.incrementAndGet();
+        if (error) {
+            slot.errors.incrementAndGet();
+        }
+    }
+
+    /**
+     * Per-second snapshots for the last {@code seconds} seconds ending at {@code nowEpochSecond},
+     * oldest first. Seconds with no traffic are returned as empty snapshots.
+     */
+    List<SecondSnapshot> perSecond(long nowEpochSecond, int seconds) {
+        int span = Math.min(seconds, slots.length);
+        List<SecondSnapshot> result = new ArrayList<>(span);
+        for (long second = nowEpochSecond - span + 1; second <= nowEpochSecond; second++) {
+            result.add(new SecondSnapshot(second, snapshotOf(second)));
+        }
+        return result;
+    }
+
+    private HistogramSnapshot snapshotOf(long epochSecond) {
+        Slot slot = slots[(int) Math.floorMod(epochSecond, (long) slots.length)];
+        if (slot.epochSecond.get() != epochSecond) {
+            return HistogramSnapshot.empty();
+        }
+        long[] counts = new long[LatencyBuckets.BUCKET_COUNT];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = slot.counts.get(i);
+        }
+        HistogramSnapshot snapshot = new HistogramSnapshot(counts, slot.total.get(), slot.errors.get());
+        // Recycled while we were copying: report nothing rather than a mix of two seconds
+        return slot.epochSecond.get() == epochSecond ? snapshot : HistogramSnapshot.empty();
+    }
+
+    record SecondSnapshot(long epochSecond, HistogramSnapshot histogram) {
+    }
+
+    private static final class Slot {
+        private final AtomicLong epochSecond = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicLongArray counts = new AtomicLongArray(LatencyBuckets.BUCKET_COUNT);
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+
+        private void reset() {
+            for (int i = 0; i < counts.length(); i++) {
+                counts.set(i, 0L);
+            }
+            total.set(0L);
+            errors.set(0L);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.observability_sandbox.support;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Per-series state keyed by request-derived labels. Model and region come from request headers, so
+ * their values are unbounded; once {@code maxSeries} keys exist, unseen keys are mapped through
+ * {@code overflow} (usually to {@link #OTHER} labels) instead of growing the map. Concurrent first
+ * writers can overshoot the cap by at most the number of writing threads.
+ */
+public final class BoundedSeries<K, V> {
+
+    public static final String OTHER = "other";
+
+    private final ConcurrentHashMap<K, V> series = new ConcurrentHashMap<>();
+    private final int maxSeries;
+    private final UnaryOperator<K> overflow;
+    private final Function<? super K, ? extends V> factory;
+
+    public BoundedSeries(int maxSeries, UnaryOperator<K> overflow, Function<? super K, ? extends V> factory) {
+        this.maxSeries = maxSeries;
+        this.overflow = overflow;
+        this.factory = factory;
+    }
+
+    /** Existing state for {@code key}, or state created for it (or for its overflow key when full). */
+    public V get(K key) {
+        V value = series.get(key);
+        if (value != null) {
+            return value;
+        }
+        K effectiveKey = series.size() >= maxSeries ? overflow.apply(key) : key;
+        return series.computeIfAbsent(effectiveKey, factory);
+    }
+
+    /** Live view for iteration and removal. */
+    public ConcurrentMap<K, V> asMap() {
+        return series;
+    }
+}
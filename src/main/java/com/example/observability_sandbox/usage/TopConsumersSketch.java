@@ -0,0 +1,78 @@
+package com.example.observability_sandbox.usage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Weighted Space-Saving heavy-hitters sketch. Tracks at most {@code capacity} keys; when a new key
+ * arrives at capacity it replaces the smallest counter and inherits its count as the error bound.
+ * Any key whose true total exceeds (total weight / capacity) is guaranteed to be present.
+ */
+final class TopConsumersSketch {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private final TreeSet<Counter> ordered = new TreeSet<>((a, b) -> {
+        int byCount = Long.compare(a.count, b.count);
+        return byCount != 0 ? byCount : a.key.compareTo(b.key);
+    });
+
+    TopConsumersSketch(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.counters = new HashMap<>(Math.min(this.capacity, 1 << 16));
+    }
+
+    void add(String key, long weight) {
+        if (weight <= 0) {
+            return;
+        }
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            ordered.remove(counter);
+            counter.count += weight;
+            ordered.add(counter);
+            return;
+        }
+        if (counters.size() < capacity) {
+            counter = new Counter(key, weight, 0L);
+        } else {
+            Counter smallest = ordered.pollFirst();
+            counters.remove(smallest.key);
+            counter = new Counter(key, smallest.count + weight, smallest.count);
+        }
+        counters.put(key, counter);
+        ordered.add(counter);
+    }
+
+    List<TopConsumer> top(int n) {
+        List<TopConsumer> result = new ArrayList<>(Math.min(n, counters.size()));
+        for (Counter counter : ordered.descendingSet()) {
+            if (result.size() >= n) {
+                break;
+            }
+            result.add(new TopConsumer(counter.key, counter.count, counter.error));
+        }
+        return result;
+    }
+
+    /**
+     * {@code tokens} may overestimate the true total by at most {@code maxOverestimate}.
+     */
+    public record TopConsumer(String key, long tokens, long maxOverestimate) {
+    }
+
+    private static final class Counter {
+        private final String key;
+        private long count;
+        private final long error;
+
+        private Counter(String key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.example.observability_sandbox.usage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Per (user, model, region) token accounting without putting {@code userId} on Prometheus series.
+ * <p>
+ * The hot path is a map lookup, a pin on the cell and {@link LongAdder} increments, which stripe
+ * under contention. Every flush appends the delta since the previous flush to {@link UsageLog} and
+ * retires keys that were idle for a whole interval, so memory only holds keys active in the current
+ * interval. Past {@code usage.max-keys} a flush spills and retires active keys too, and past twice
+ * that the recording thread spills inline, so the map stays bounded however many keys are active.
+ * Top-N queries stream the log through a bounded {@link TopConsumersSketch}. Ids are truncated to
+ * {@link #MAX_KEY_CHARS} on the way in so every key fits the log's record format.
+ */
+@Component
+public class UsageAccountant {
+
+    private static final Logger log = LoggerFactory.getLogger(UsageAccountant.class);
+    private static final String SERVICE_TAG = "service";
+    private static final String SERVICE_NAME = "los-app";
+    static final int MAX_KEY_CHARS = 256;
+
+    private final UsageProperties properties;
+    private final UsageLog usageLog;
+    private final ConcurrentHashMap<UsageKey, UsageCell> cells = new ConcurrentHashMap<>();
+    private final AtomicBoolean earlyFlushPending = new AtomicBoolean();
+    private final Counter flushedRecords;
+    private final Counter flushFailures;
+
+    public UsageAccountant(UsageProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.usageLog = new UsageLog(Path.of(properties.getDirectory()));
+        this.flushedRecords = Counter.builder("llm_usage_flushed_records_total")
+                .description("Usage records appended to the local usage log")
+                .tag(SERVICE_TAG, SERVICE_NAME)
+                .register(registry);
+        this.flushFailures = Counter.builder("llm_usage_flush_failures_total")
+                .description("Usage log flushes that failed with an I/O error")
+                .tag(SERVICE_TAG, SERVICE_NAME)
+                .register(registry);
+        Gauge.builder("llm_usage_tracked_keys", cells, ConcurrentHashMap::size)
+                .description("(user, model, region) keys currently held in memory")
+                .tag(SERVICE_TAG, SERVICE_NAME)
+                .register(registry);
+    }
+
+    public void record(String userId, String model, String region, int requestTokens, int responseTokens) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        UsageKey key = new UsageKey(keyOf(userId), keyOf(model), keyOf(region));
+        if (add(key, 1, requestTokens, responseTokens)) {
+            enforceMaxKeys();
+        }
+    }
+
+    /**
+     * Adds to the live cell for {@code key}, retrying if a flush retired the cell first.
+     * Returns {@code true} when the key was not in the map on the first lookup.
+     */
+    private boolean add(UsageKey key, long requests, long requestTokens, long responseTokens) {
+        boolean missed = false;
+        while (true) {
+            UsageCell cell = cells.get(key);
+            if (cell == null) {
+                missed = true;
+                cell = cells.computeIfAbsent(key, ignored -> new UsageCell());
+            }
+            if (cell.pin()) {
+                try {
+                    cell.requests.add(requests);
+                    cell.requestTokens.add(requestTokens);
+                    cell.responseTokens.add(responseTokens);
+                } finally {
+                    cell.unpin();
+                }
+                return missed;
+            }
+            // The flush already took this cell's final delta; make sure it is gone and start a new one
+            cells.remove(key, cell);
+        }
+    }
+
+    private void enforceMaxKeys() {
+        int size = cells.size();
+        if (size > 2L * properties.getMaxKeys()) {
+            // The early flush cannot keep up: spill on the recording thread so the map stops growing
+            spill();
+        } else if (size > properties.getMaxKeys() && earlyFlushPending.compareAndSet(false, true)) {
+            // Too many distinct keys this interval: spill to disk now rather than wait for the schedule
+            Thread.ofVirtual().name("usage-early-flush").start(() -> {
+                try {
+                    spill();
+                } finally {
+                    earlyFlushPending.set(false);
+                }
+            });
+        }
+    }
+
+    private synchronized void spill() {
+        if (cells.size() > properties.getMaxKeys()) {
+            flush(true);
+        }
+    }
+
+    @Scheduled(initialDelayString = "#{T(java.time.Duration).parse('${usage.flush-interval:PT10S}').toMillis()}",
+            fixedDelayString = "#{T(java.time.Duration).parse('${usage.flush-interval:PT10S}').toMillis()}")
+    public void scheduledFlush() {
+        flush();
+        try {
+            int deleted = usageLog.deleteOlderThan(System.currentTimeMillis() - properties.getRetention().toMillis());
+            if (deleted > 0) {
+                log.info("usage_log_retention deleted_files={}", deleted);
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to apply usage log retention: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Appends everything recorded since the last flush. Only one flush runs at a time.
+     */
+    @PreDestroy
+    public synchronized void flush() {
+        flush(false);
+    }
+
+    /**
+     * A cell is only removed once it is retired, i.e. no writer holds a pin and none can take one,
+     * so its final delta is exact. With {@code retireActive} every unpinned cell is retired, not
+     * only idle ones.
+     */
+    private void flush(boolean retireActive) {
+        long now = System.currentTimeMillis();
+        List<UsageRecord> batch = new ArrayList<>();
+        List<Runnable> commits = new ArrayList<>();
+        List<UsageRecord> retired = new ArrayList<>();
+        Iterator<Map.Entry<UsageKey, UsageCell>> it = cells.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<UsageKey, UsageCell> entry = it.next();
+            UsageKey key = entry.getKey();
+            UsageCell cell = entry.getValue();
+            if ((retireActive || cell.isIdle()) && cell.retire()) {
+                cells.remove(key, cell);
+                UsageRecord last = cell.delta(now, key);
+                if (last != null) {
+                    batch.add(last);
+                    retired.add(last);
+                }
+                continue;
+            }
+            UsageRecord delta = cell.delta(now, key);
+            if (delta != null) {
+                batch.add(delta);
+                commits.add(cell.commit(delta));
+            }
+        }
+        try {
+            usageLog.append(now, batch);
+            // Only advance the flushed marks once the batch is on disk, so a failed append is retried
+            commits.forEach(Runnable::run);
+            flushedRecords.increment(batch.size());
+        } catch (IOException ex) {
+            // Retired cells are gone from the map; put their unsaved usage back into live cells
+            for (UsageRecord record : retired) {
+                add(new UsageKey(record.userId(), record.model(), record.region()),
+                        record.requests(), record.requestTokens(), record.responseTokens());
+            }
+            flushFailures.increment();
+            log.error("Failed to flush usage log to {}: {}", properties.getDirectory(), ex.getMessage());
+        }
+    }
+
+    int trackedKeys() {
+        return cells.size();
+    }
+
+    /**
+     * Largest consumers by total tokens over {@code [from, to)}. {@code groupBy} is {@code user} or
+     * {@code user_model}. Counts are approximate once more than {@code usage.sketch-capacity} keys exist.
+     */
+    public List<TopConsumersSketch.TopConsumer> topConsumers(long from, long to, int n, String groupBy) throws IOException {
+        flush();
+        TopConsumersSketch sketch = new TopConsumersSketch(Math.max(properties.getSketchCapacity(), n));
+        boolean byModel = "user_model".equals(groupBy);
+        usageLog.scan(from, to, record -> sketch.add(
+                byModel ? record.userId() + "/" + record.model() : record.userId(), record.totalTokens()));
+        return sketch.top(n);
+    }
+
+    /**
+     * Exact totals for one user over {@code [from, to)}, one entry per (model, region).
+     */
+    public List<UsageRecord> userUsage(String userId, long from, long to) throws IOException {
+        flush();
+        Map<String, long[]> totals = new LinkedHashMap<>();
+        usageLog.scan(from, to, record -> {
+            if (record.userId().equals(userId)) {
+                long[] sums = totals.computeIfAbsent(record.model() + "\n" + record.region(), ignored -> new long[3]);
+                sums[0] += record.requests();
+                sums[1] += record.requestTokens();
+                sums[2] += record.responseTokens();
+            }
+        });
+        List<UsageRecord> result = new ArrayList<>(totals.size());
+        totals.forEach((modelRegion, sums) -> {
+            int split = modelRegion.indexOf('\n');
+            result.add(new UsageRecord(from, userId, modelRegion.substring(0, split), modelRegion.substring(split + 1),
+                    sums[0], sums[1], sums[2]));
+        });
+        return result;
+    }
+
+    /**
+     * A key that cannot be encoded would fail every later flush, because failed flushes put their
+     * retired cells back. At 3 bytes per char, 256 chars stay far below writeUTF's 65535-byte limit.
+     */
+    private static String keyOf(String value) {
+        if (value == null) {
+            return "unknown";
+        }
+        return value.length() > MAX_KEY_CHARS ? value.substring(0, MAX_KEY_CHARS) : value;
+    }
+
+    private record UsageKey(String userId, String model, String region) {
+    }
+
+    private static final class UsageCell {
+        private static final int RETIRED = -1;
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder requestTokens = new LongAdder();
+        private final LongAdder responseTokens = new LongAdder();
+        // Writers currently adding, or RETIRED once a flush has taken the final delta
+        private final AtomicInteger pins = new AtomicInteger();
+        // Only touched under the flush lock
+        private long flushedRequests;
+        private long flushedRequestTokens;
+        private long flushedResponseTokens;
+
+        private boolean pin() {
+            int current;
+            do {
+                current = pins.get();
+                if (current == RETIRED) {
+                    return false;
+                }
+            } while (!pins.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        private void unpin() {
+            pins.decrementAndGet();
+        }
+
+        /**
+         * Succeeds only while no writer is mid-add; afterwards {@link #pin()} always fails.
+         */
+        private boolean retire() {
+            return pins.compareAndSet(0, RETIRED);
+        }
+
+        private boolean isIdle() {
+            return requests.sum() == flushedRequests
+                    && requestTokens.sum() == flushedRequestTokens
+                    && responseTokens.sum() == flushedResponseTokens;
+        }
+
+        /**
+         * Usage since the last committed flush, or {@code null} if there was none. Increments landing
+         * after the sums are read are picked up by the next flush.
+         */
+        private UsageRecord delta(long now, UsageKey key) {
+            long totalRequests = requests.sum();
+            long totalRequestTokens = requestTokens.sum();
+            long totalResponseTokens = responseTokens.sum();
+            if (totalRequests == flushedRequests
+                    && totalRequestTokens == flushedRequestTokens
+                    && totalResponseTokens == flushedResponseTokens) {
+                return null;
+            }
+            return new UsageRecord(now, key.userId(), key.model(), key.region(),
+                    totalRequests - flushedRequests,
+                    totalRequestTokens - flushedRequestTokens,
+                    totalResponseTokens - flushedResponseTokens);
+        }
+
+        private Runnable commit(UsageRecord delta) {
+            return () -> {
+                flushedRequests += delta.requests();
+                flushedRequestTokens += delta.requestTokens();
+                flushedResponseTokens += delta.responseTokens();
+            };
+        }
+    }
+}
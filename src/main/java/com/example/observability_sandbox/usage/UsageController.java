@@ -0,0 +1,55 @@
+package com.example.observability_sandbox.usage;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/usage")
+public class UsageController {
+
+    private static final Duration DEFAULT_RANGE = Duration.ofHours(1);
+
+    private final UsageAccountant usageAccountant;
+
+    public UsageController(UsageAccountant usageAccountant) {
+        this.usageAccountant = usageAccountant;
+    }
+
+    @GetMapping("/top")
+    public ResponseEntity<List<TopConsumersSketch.TopConsumer>> top(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(name = "n", defaultValue = "10") int n,
+            @RequestParam(name = "groupBy", defaultValue = "user") String groupBy
+    ) throws IOException {
+        if (!"user".equals(groupBy) && !"user_model".equals(groupBy)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(DEFAULT_RANGE);
+        int limit = Math.max(1, Math.min(n, 1000));
+        return ResponseEntity.ok(usageAccountant.topConsumers(start.toEpochMilli(), end.toEpochMilli(), limit, groupBy));
+    }
+
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<List<UsageRecord>> user(
+            @PathVariable String userId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to
+    ) throws IOException {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(DEFAULT_RANGE);
+        return ResponseEntity.ok(usageAccountant.userUsage(userId, start.toEpochMilli(), end.toEpochMilli()));
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.observability_sandbox.usage;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only usage files, one per UTC hour ({@code usage-yyyyMMddHH.bin}).
+ * Records are a timestamp, three modified-UTF-8 strings and three var-length counts, so a typical
+ * record is well under 64 bytes. A batch is encoded in memory and appended with a single write, so a
+ * batch that fails to encode leaves the file untouched and only a crash can leave a torn record,
+ * always at the tail. Queries stream the files that overlap the requested range.
+ */
+final class UsageLog {
+
+    private static final DateTimeFormatter HOUR = DateTimeFormatter.ofPattern("yyyyMMddHH").withZone(ZoneOffset.UTC);
+    private static final String PREFIX = "usage-";
+    private static final String SUFFIX = ".bin";
+
+    private final Path directory;
+
+    UsageLog(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Appends a flush batch. All records share the hour file of {@code epochMillis}. Throws
+     * {@link java.io.UTFDataFormatException} without writing anything if an id encodes to more than
+     * 65535 bytes.
+     */
+    void append(long epochMillis, List<UsageRecord> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(records.size() * 64);
+        DataOutputStream out = new DataOutputStream(buffer);
+        for (UsageRecord record : records) {
+            out.writeLong(record.epochMillis());
+            out.writeUTF(record.userId());
+            out.writeUTF(record.model());
+            out.writeUTF(record.region());
+            writeVarLong(out, record.requests());
+            writeVarLong(out, record.requestTokens());
+            writeVarLong(out, record.responseTokens());
+        }
+        Files.createDirectories(directory);
+        Path file = directory.resolve(PREFIX + HOUR.format(Instant.ofEpochMilli(epochMillis)) + SUFFIX);
+        Files.write(file, buffer.toByteArray(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Streams every record with {@code from <= epochMillis < to} to {@code consumer}.
+     */
+    void scan(long from, long to, Consumer<UsageRecord> consumer) throws IOException {
+        for (Path file : filesOverlapping(from, to)) {
+            try (InputStream raw = Files.newInputStream(file);
+                 DataInputStream in = new DataInputStream(new BufferedInputStream(raw, 64 * 1024))) {
+                while (true) {
+                    long epochMillis;
+                    try {
+                        epochMillis = in.readLong();
+                    } catch (EOFException end) {
+                        break;
+                    }
+                    UsageRecord record;
+                    try {
+                        record = new UsageRecord(epochMillis, in.readUTF(), in.readUTF(), in.readUTF(),
+                                readVarLong(in), readVarLong(in), readVarLong(in));
+                    } catch (EOFException truncated) {
+                        // Torn tail from a crash mid-append; everything before it is intact
+                        break;
+                    }
+                    if (epochMillis >= from && epochMillis < to) {
+                        consumer.accept(record);
+                    }
+                }
+            }
+        }
+    }
+
+    int deleteOlderThan(long cutoffMillis) throws IOException {
+        int deleted = 0;
+        for (Path file : listFiles()) {
+            Instant hourEnd = hourOf(file).plus(1, ChronoUnit.HOURS);
+            if (hourEnd.toEpochMilli() <= cutoffMillis && Files.deleteIfExists(file)) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private List<Path> filesOverlapping(long from, long to) throws IOException {
+        List<Path> result = new ArrayList<>();
+        for (Path file : listFiles()) {
+            long hourStart = hourOf(file).toEpochMilli();
+            long hourEnd = hourStart + ChronoUnit.HOURS.getDuration().toMillis();
+            if (hourEnd > from && hourStart < to) {
+                result.add(file);
+            }
+        }
+        result.sort(null);
+        return result;
+    }
+
+    private List<Path> listFiles() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).toList();
+        }
+    }
+
+    private static Instant hourOf(Path file) {
+        String name = file.getFileName().toString();
+        String hour = name.substring(PREFIX.length(), name.length() - SUFFIX.length());
+        return LocalDateTime.parse(hour + "00", DateTimeFormatter.ofPattern("yyyyMMddHHmm"))
+                .toInstant(ZoneOffset.UTC);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.observability_sandbox.usage;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "usage")
+public class UsageProperties {
+
+    private boolean enabled = true;
+    private String directory = "data/usage";
+    private Duration flushInterval = Duration.ofSeconds(10);
+    private Duration retention = Duration.ofDays(7);
+    private int maxKeys = 500_000;
+    private int sketchCapacity = 10_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    public int getSketchCapacity() {
+        return sketchCapacity;
+    }
+
+    public void setSketchCapacity(int sketchCapacity) {
+        this.sketchCapacity = sketchCapacity;
+    }
+}
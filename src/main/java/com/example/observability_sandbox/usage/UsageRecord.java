@@ -0,0 +1,19 @@
+package com.example.observability_sandbox.usage;
+
+/**
+ * Token usage of one (user, model, region) over one flush interval, or a sum of such intervals.
+ */
+public record UsageRecord(
+        long epochMillis,
+        String userId,
+        String model,
+        String region,
+        long requests,
+        long requestTokens,
+        long responseTokens
+) {
+
+    public long totalTokens() {
+        return requestTokens + responseTokens;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.observability_sandbox.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class PromptRequestReaderTests {
+
+	private final PromptRequestReader reader = new PromptRequestReader(16, 256);
+
+	@Test
+	void readsKnownFieldsAndSkipsUnknownOnes() throws IOException {
+		PromptRequest request = read("""
+				{"prompt":"hi","extra":{"a":[1,2,{"b":null}]},"userId":"u1","region":null,"model":"m"}""");
+
+		assertThat(request.prompt()).isEqualTo("hi");
+		assertThat(request.userId()).isEqualTo("u1");
+		assertThat(request.region()).isNull();
+		assertThat(request.model()).isEqualTo("m");
+	}
+
+	@Test
+	void rejectsTrailingContent() {
+		assertThatThrownBy(() -> read("{\"prompt\":\"hi\"} {\"prompt\":\"again\"}"))
+				.isInstanceOf(InvalidPromptRequestException.class);
+		assertThatThrownBy(() -> read("{\"prompt\":\"hi\"} x"))
+				.isInstanceOf(InvalidPromptRequestException.class);
+	}
+
+	@Test
+	void allowsTrailingWhitespace() throws IOException {
+		assertThat(read("{\"prompt\":\"hi\"}\n  ").prompt()).isEqualTo("hi");
+	}
+
+	@Test
+	void rejectsNonObjectAndNonStringFields() {
+		assertThatThrownBy(() -> read("[\"hi\"]")).isInstanceOf(InvalidPromptRequestException.class);
+		assertThatThrownBy(() -> read("{\"prompt\":42}")).isInstanceOf(InvalidPromptRequestException.class);
+		assertThatThrownBy(() -> read("{\"prompt\":\"hi\"")).isInstanceOf(InvalidPromptRequestException.class);
+	}
+
+	@Test
+	void oversizedPromptIsTooLarge() {
+		assertThatThrownBy(() -> read("{\"prompt\":\"" + "x".repeat(17) + "\"}"))
+				.isInstanceOf(PromptTooLargeException.class);
+	}
+
+	@Test
+	void oversizedIdsAreInvalidNotTooLarge() throws IOException {
+		PromptRequestReader wideStrings = new PromptRequestReader(1024, 4096);
+		String maxId = "u".repeat(PromptRequest.MAX_ID_CHARS);
+		String longId = "u".repeat(PromptRequest.MAX_ID_CHARS + 1);
+
+		assertThat(wideStrings.read(stream("{\"userId\":\"" + maxId + "\"}")).userId()).isEqualTo(maxId);
+		for (String field : new String[] { "userId", "region", "model" }) {
+			assertThatThrownBy(() -> wideStrings.read(stream("{\"" + field + "\":\"" + longId + "\"}")))
+					.isInstanceOf(InvalidPromptRequestException.class)
+					.hasMessageContaining(field);
+		}
+		assertThatThrownBy(() -> new PromptRequest("hi", null, null, null).resolve(longId, null, null))
+				.isInstanceOf(InvalidPromptRequestException.class)
+				.hasMessageContaining("X-User-Id");
+	}
+
+	@Test
+	void oversizedBodyIsTooLarge() {
+		String body = "{\"prompt\":\"hi\",\"padding\":\"" + "y".repeat(300) + "\"}";
+		PromptRequestReader wideStrings = new PromptRequestReader(1024, 256);
+
+		assertThatThrownBy(() -> wideStrings.read(stream(body))).isInstanceOf(PromptTooLargeException.class);
+	}
+
+	@Test
+	void deepNestingIsInvalidNotTooLarge() throws IOException {
+		String allowed = "{\"x\":" + "[".repeat(PromptRequestReader.MAX_NESTING_DEPTH - 1)
+				+ "]".repeat(PromptRequestReader.MAX_NESTING_DEPTH - 1) + ",\"prompt\":\"hi\"}";
+		String tooDeep = "{\"x\":" + "[".repeat(PromptRequestReader.MAX_NESTING_DEPTH)
+				+ "]".repeat(PromptRequestReader.MAX_NESTING_DEPTH) + "}";
+
+		assertThat(read(allowed).prompt()).isEqualTo("hi");
+		assertThatThrownBy(() -> read(tooDeep)).isInstanceOf(InvalidPromptRequestException.class);
+	}
+
+	private PromptRequest read(String json) throws IOException {
+		return reader.read(stream(json));
+	}
+
+	private static ByteArrayInputStream stream(String json) {
+		return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,52 @@
+package com.example.observability_sandbox.evaluation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class EvaluationCheckpointStoreTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void savedCheckpointLoadsBackUnchanged() {
+		EvaluationCheckpointStore store = store(directory.resolve("nested/checkpoint.json"));
+		EvaluationResult result = new EvaluationResult(new EvaluationCase("case-1", "Great product", "POSITIVE"),
+				"POSITIVE", 0.97, true, Duration.ofMillis(42), null);
+		EvaluationCheckpoint checkpoint = new EvaluationCheckpoint("scheduled", true, Instant.parse("2026-01-01T10:00:00Z"),
+				new EvaluationBatchSummary(Instant.parse("2026-01-01T09:59:00Z"), Duration.ofSeconds(60), 1, 1, 0,
+						List.of(result)));
+
+		assertThat(store.save(checkpoint)).isTrue();
+
+		assertThat(store.load()).contains(checkpoint);
+		assertThat(directory.resolve("nested/checkpoint.json.tmp")).doesNotExist();
+	}
+
+	@Test
+	void missingOrCorruptFileLoadsAsEmpty() throws Exception {
+		Path file = directory.resolve("checkpoint.json");
+		EvaluationCheckpointStore store = store(file);
+		assertThat(store.load()).isEmpty();
+
+		Files.writeString(file, "{\"trigger\":");
+
+		assertThat(store.load()).isEmpty();
+	}
+
+	private static EvaluationCheckpointStore store(Path file) {
+		EvaluationProperties properties = new EvaluationProperties();
+		properties.setCheckpointFile(file.toString());
+		return new EvaluationCheckpointStore(new ObjectMapper().findAndRegisterModules(), properties);
+	}
+}
@@ -0,0 +1,85 @@
+package com.example.observability_sandbox.evaluation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileShardLeaseCoordinatorTests {
+
+	private static final Duration TTL = Duration.ofSeconds(30);
+
+	@TempDir
+	Path directory;
+
+	private final AtomicLong now = new AtomicLong(1_000_000L);
+
+	@Test
+	void freeLeaseIsAcquiredAndHeldAgainstOthers() {
+		FileShardLeaseCoordinator coordinator = coordinator();
+
+		assertThat(coordinator.tryAcquire("shard-0", "replica-a", TTL)).isTrue();
+		assertThat(coordinator.tryAcquire("shard-0", "replica-b", TTL)).isFalse();
+		assertThat(coordinator.tryAcquire("shard-1", "replica-b", TTL)).isTrue();
+	}
+
+	@Test
+	void holderRenewalPushesExpiryOut() {
+		FileShardLeaseCoordinator coordinator = coordinator();
+		coordinator.tryAcquire("shard-0", "replica-a", TTL);
+
+		now.addAndGet(20_000);
+		assertThat(coordinator.tryAcquire("shard-0", "replica-a", TTL)).isTrue();
+		now.addAndGet(20_000);
+
+		assertThat(coordinator.tryAcquire("shard-0", "replica-b", TTL)).isFalse();
+	}
+
+	@Test
+	void expiredLeaseIsTakenOverAndTheOldHolderLosesIt() {
+		FileShardLeaseCoordinator coordinator = coordinator();
+		coordinator.tryAcquire("shard-0", "replica-a", TTL);
+
+		now.addAndGet(TTL.toMillis());
+		assertThat(coordinator.tryAcquire("shard-0", "replica-b", TTL)).isTrue();
+
+		assertThat(coordinator.tryAcquire("shard-0", "replica-a", TTL)).isFalse();
+	}
+
+	@Test
+	void onlyTheHolderCanRelease() {
+		FileShardLeaseCoordinator coordinator = coordinator();
+		coordinator.tryAcquire("shard-0", "replica-a", TTL);
+
+		coordinator.release("shard-0", "replica-b");
+		assertThat(coordinator.tryAcquire("shard-0", "replica-b", TTL)).isFalse();
+
+		coordinator.release("shard-0", "replica-a");
+		assertThat(coordinator.tryAcquire("shard-0", "replica-b", TTL)).isTrue();
+	}
+
+	@Test
+	void replicasSharingTheDirectorySeeEachOthersLeases() {
+		assertThat(coordinator().tryAcquire("merge", "replica-a", TTL)).isTrue();
+
+		assertThat(coordinator().tryAcquire("merge", "replica-b", TTL)).isFalse();
+	}
+
+	@Test
+	void tornLeaseFileCountsAsFree() throws Exception {
+		FileShardLeaseCoordinator coordinator = coordinator();
+		coordinator.tryAcquire("shard-0", "replica-a", TTL);
+		Files.writeString(directory.resolve("shard-0.lease"), "replica-a\n");
+
+		assertThat(coordinator.tryAcquire("shard-0", "replica-b", TTL)).isTrue();
+	}
+
+	private FileShardLeaseCoordinator coordinator() {
+		return new FileShardLeaseCoordinator(directory, now::get);
+	}
+}
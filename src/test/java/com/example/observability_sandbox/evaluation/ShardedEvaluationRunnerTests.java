@@ -0,0 +1,63 @@
+package com.example.observability_sandbox.evaluation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ShardedEvaluationRunnerTests {
+
+	private static final Duration INTERVAL = Duration.ofMinutes(10);
+	private static final long MINUTE = 60_000L;
+	// Start of a slot, so offsets below read as minutes into it
+	private static final long SLOT = 1_000 * INTERVAL.toMillis();
+
+	@TempDir
+	Path directory;
+
+	private final AtomicLong now = new AtomicLong();
+
+	@Test
+	void onlyOneReplicaStartsARunPerSlotEvenWhenTimersAreFarApart() {
+		ShardedEvaluationRunner a = runner("replica-a");
+		ShardedEvaluationRunner b = runner("replica-b");
+
+		assertThat(claim(a, SLOT + MINUTE)).isTrue();
+		assertThat(claim(b, SLOT + 7 * MINUTE)).isFalse();
+
+		assertThat(claim(a, SLOT + 11 * MINUTE)).isTrue();
+		assertThat(claim(b, SLOT + 17 * MINUTE)).isFalse();
+	}
+
+	@Test
+	void nextSlotIsFreeForAnotherReplicaWhenTheHolderStops() {
+		ShardedEvaluationRunner a = runner("replica-a");
+		ShardedEvaluationRunner b = runner("replica-b");
+		assertThat(claim(a, SLOT + 9 * MINUTE)).isTrue();
+
+		assertThat(claim(b, SLOT + 9 * MINUTE + 59_999)).isFalse();
+		assertThat(claim(b, SLOT + 10 * MINUTE)).isTrue();
+		assertThat(claim(a, SLOT + 12 * MINUTE)).isFalse();
+	}
+
+	private boolean claim(ShardedEvaluationRunner runner, long atMillis) {
+		now.set(atMillis);
+		return runner.claimScheduledRun(INTERVAL, atMillis);
+	}
+
+	private ShardedEvaluationRunner runner(String instanceId) {
+		EvaluationProperties properties = new EvaluationProperties();
+		properties.getSharding().setEnabled(true);
+		properties.getSharding().setInstanceId(instanceId);
+		properties.getSharding().setDirectory(directory.toString());
+		FileShardLeaseCoordinator coordinator = new FileShardLeaseCoordinator(directory.resolve("leases"), now::get);
+		return new ShardedEvaluationRunner(properties,
+				new EvaluationShardStore(new ObjectMapper().findAndRegisterModules(), properties), coordinator);
+	}
+}
@@ -0,0 +1,147 @@
+package com.example.observability_sandbox.lifecycle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+
+import com.example.observability_sandbox.evaluation.EvaluationService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GracefulDrainCoordinatorTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final DrainProperties properties = new DrainProperties();
+	private final InFlightRequestRegistry inFlight = new InFlightRequestRegistry(properties, registry);
+	private final EvaluationService evaluationService = mock(EvaluationService.class);
+	private final List<Object> events = new CopyOnWriteArrayList<>();
+
+	GracefulDrainCoordinatorTests() {
+		properties.setReadinessPropagationDelay(Duration.ofMillis(50));
+		properties.setTimeout(Duration.ofSeconds(2));
+		properties.setPollInterval(Duration.ofMillis(5));
+		properties.setBatchStopGrace(Duration.ofMillis(500));
+	}
+
+	@Test
+	void refusesTrafficThenWaitsForInFlightRequests() {
+		GracefulDrainCoordinator coordinator = coordinator();
+		coordinator.start();
+		InFlightRequestRegistry.Ticket ticket = inFlight.tryEnter("/generate", "gpt-4o");
+		Thread.ofPlatform().start(() -> {
+			sleep(200);
+			ticket.close();
+		});
+
+		coordinator.stop();
+
+		assertThat(events).singleElement().satisfies(event -> assertThat(((AvailabilityChangeEvent<?>) event).getState())
+				.isEqualTo(ReadinessState.REFUSING_TRAFFIC));
+		assertThat(inFlight.total()).isZero();
+		assertThat(inFlight.tryEnter("/generate", "gpt-4o")).isNull();
+		verify(evaluationService).stopAdmitting();
+		verify(evaluationService, never()).requestStop();
+		assertThat(registry.get("llm_drain_duration_seconds").timer().totalTime(TimeUnit.MILLISECONDS))
+				.isGreaterThanOrEqualTo(200);
+		assertThat(registry.get("llm_drain_abandoned_requests_total").counter().count()).isZero();
+		assertThat(coordinator.isRunning()).isFalse();
+	}
+
+	@Test
+	void batchFinishingWithinTheTimeoutIsNotStopped() {
+		AtomicBoolean batchRunning = new AtomicBoolean(true);
+		given(evaluationService.isRunning()).willAnswer(invocation -> batchRunning.get());
+		GracefulDrainCoordinator coordinator = coordinator();
+		coordinator.start();
+		Thread.ofPlatform().start(() -> {
+			sleep(300);
+			batchRunning.set(false);
+		});
+
+		coordinator.stop();
+
+		verify(evaluationService).stopAdmitting();
+		verify(evaluationService, never()).requestStop();
+		assertThat(registry.get("llm_drain_abandoned_evaluation_batches_total").counter().count()).isZero();
+		assertThat(registry.get("llm_drain_duration_seconds").timer().totalTime(TimeUnit.MILLISECONDS))
+				.isGreaterThanOrEqualTo(250);
+	}
+
+	@Test
+	void batchOverrunningTheTimeoutIsStoppedWithinTheGrace() {
+		properties.setTimeout(Duration.ofMillis(300));
+		properties.setBatchStopGrace(Duration.ofMillis(150));
+		AtomicBoolean batchRunning = new AtomicBoolean(true);
+		given(evaluationService.isRunning()).willAnswer(invocation -> batchRunning.get());
+		// The batch honours the stop at its next case boundary
+		willAnswer(invocation -> {
+			batchRunning.set(false);
+			return null;
+		}).given(evaluationService).requestStop();
+		GracefulDrainCoordinator coordinator = coordinator();
+		coordinator.start();
+
+		coordinator.stop();
+
+		verify(evaluationService).requestStop();
+		assertThat(registry.get("llm_drain_abandoned_evaluation_batches_total").counter().count()).isZero();
+		assertThat(registry.get("llm_drain_duration_seconds").timer().totalTime(TimeUnit.MILLISECONDS))
+				.isGreaterThanOrEqualTo(50 + 150)
+				.isLessThan(50 + 300);
+	}
+
+	@Test
+	void countsWorkStillRunningAtTheDeadlineAsAbandoned() {
+		properties.setTimeout(Duration.ofMillis(100));
+		given(evaluationService.isRunning()).willReturn(true);
+		GracefulDrainCoordinator coordinator = coordinator();
+		coordinator.start();
+		inFlight.tryEnter("/generate", "gpt-4o");
+		inFlight.tryEnter("/generate", "claude-3-opus");
+
+		coordinator.stop();
+
+		verify(evaluationService).requestStop();
+		assertThat(registry.get("llm_drain_abandoned_requests_total").counter().count()).isEqualTo(2);
+		assertThat(registry.get("llm_drain_abandoned_evaluation_batches_total").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void disabledDrainStopsImmediately() {
+		properties.setEnabled(false);
+		GracefulDrainCoordinator coordinator = coordinator();
+		coordinator.start();
+
+		coordinator.stop();
+
+		assertThat(events).isEmpty();
+		assertThat(inFlight.isAdmitting()).isTrue();
+		verify(evaluationService, never()).stopAdmitting();
+		verify(evaluationService, never()).requestStop();
+	}
+
+	private GracefulDrainCoordinator coordinator() {
+		return new GracefulDrainCoordinator(properties, inFlight, evaluationService, events::add, registry);
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
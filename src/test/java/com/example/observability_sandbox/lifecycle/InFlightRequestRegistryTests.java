@@ -0,0 +1,64 @@
+package com.example.observability_sandbox.lifecycle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class InFlightRequestRegistryTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@Test
+	void ticketsAreCountedUntilClosedOnce() {
+		InFlightRequestRegistry inFlight = registry(10);
+		InFlightRequestRegistry.Ticket first = inFlight.tryEnter("/generate", "gpt-4o");
+		InFlightRequestRegistry.Ticket second = inFlight.tryEnter("/generate", "gpt-4o");
+
+		assertThat(inFlight.total()).isEqualTo(2);
+		assertThat(inFlight.snapshot()).containsEntry("/generate|gpt-4o", 2);
+		assertThat(registry.get("llm_inflight_requests").tag("model", "gpt-4o").gauge().value()).isEqualTo(2.0);
+
+		first.close();
+		first.close();
+		assertThat(inFlight.total()).isEqualTo(1);
+
+		second.close();
+		assertThat(inFlight.total()).isZero();
+		assertThat(inFlight.snapshot()).isEmpty();
+	}
+
+	@Test
+	void stoppedRegistryRejectsNewRequestsButKeepsRunningOnes() {
+		InFlightRequestRegistry inFlight = registry(10);
+		InFlightRequestRegistry.Ticket running = inFlight.tryEnter("/generate", "gpt-4o");
+
+		inFlight.stopAdmitting();
+
+		assertThat(inFlight.isAdmitting()).isFalse();
+		assertThat(inFlight.tryEnter("/generate", "gpt-4o")).isNull();
+		assertThat(inFlight.total()).isEqualTo(1);
+		running.close();
+		assertThat(inFlight.total()).isZero();
+	}
+
+	@Test
+	void modelsBeyondMaxSeriesShareTheOtherSeries() {
+		InFlightRequestRegistry inFlight = registry(1);
+		inFlight.tryEnter("/generate", "gpt-4o");
+		inFlight.tryEnter("/generate", "made-up-1");
+		inFlight.tryEnter("/generate", "made-up-2");
+
+		assertThat(inFlight.snapshot()).containsOnly(
+				entry("/generate|gpt-4o", 1),
+				entry("/generate|other", 2));
+	}
+
+	private InFlightRequestRegistry registry(int maxSeries) {
+		DrainProperties properties = new DrainProperties();
+		properties.setMaxSeries(maxSeries);
+		return new InFlightRequestRegistry(properties, registry);
+	}
+}
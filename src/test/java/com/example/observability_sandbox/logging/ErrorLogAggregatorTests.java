@@ -0,0 +1,123 @@
+package com.example.observability_sandbox.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ErrorLogAggregatorTests {
+
+	private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+	private final Logger logger = (Logger) LoggerFactory.getLogger(ErrorLogAggregator.class);
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@BeforeEach
+	void attachAppender() {
+		appender.start();
+		logger.addAppender(appender);
+	}
+
+	@AfterEach
+	void detachAppender() {
+		logger.detachAppender(appender);
+	}
+
+	@Test
+	void onlyTheFirstOccurrencesPerKeyAreLoggedVerbatim() {
+		ErrorLogAggregator aggregator = aggregator(2, 3);
+
+		assertThat(aggregator.shouldLog("gpt-4o", "timeout", "eu-west-1", "t1")).isTrue();
+		assertThat(aggregator.shouldLog("gpt-4o", "timeout", "eu-west-1", "t2")).isTrue();
+		assertThat(aggregator.shouldLog("gpt-4o", "timeout", "eu-west-1", "t3")).isFalse();
+		assertThat(aggregator.shouldLog("gpt-4o", "content_filter", "eu-west-1", "t4")).isTrue();
+		assertThat(registry.get("llm_error_logs_total").tag("outcome", "suppressed").counter().count()).isEqualTo(1);
+
+		aggregator.closeWindow();
+
+		assertThat(aggregator.shouldLog("gpt-4o", "timeout", "eu-west-1", "t5")).isTrue();
+	}
+
+	@Test
+	void closingWritesOneSummaryPerKeyWithSuppressedCounts() {
+		ErrorLogAggregator aggregator = aggregator(1, 3);
+		for (int i = 0; i < 4; i++) {
+			aggregator.shouldLog("gpt-4o", "timeout", "eu-west-1", "t" + i);
+		}
+		aggregator.shouldLog("llama-3.3-70b", "timeout", "eu-west-1", "only");
+
+		aggregator.closeWindow();
+
+		assertThat(appender.list).singleElement().satisfies(event -> assertThat(event.getFormattedMessage())
+				.startsWith("generate_error_summary model=gpt-4o error_type=timeout region=eu-west-1 occurrences=4 suppressed=3")
+				.endsWith("sample_trace_ids=t1,t2,t3"));
+		assertThat(registry.get("llm_error_log_suppression_ratio").gauge().value()).isEqualTo(0.6);
+
+		aggregator.closeWindow();
+		assertThat(appender.list).hasSize(1);
+		assertThat(registry.get("llm_error_log_suppression_ratio").gauge().value()).isZero();
+	}
+
+	@Test
+	void sampledTraceIdsAreNotJustTheFirstSuppressedOnes() {
+		ErrorLogAggregator aggregator = aggregator(0, 1);
+		int windows = 200;
+		int firstPicked = 0;
+		for (int w = 0; w < windows; w++) {
+			for (int i = 0; i < 10; i++) {
+				aggregator.shouldLog("gpt-4o", "timeout", "eu-west-1", "t" + i);
+			}
+			aggregator.closeWindow();
+			if (appender.list.get(w).getFormattedMessage().endsWith("sample_trace_ids=t0")) {
+				firstPicked++;
+			}
+		}
+
+		// Each of the ten ids is kept with probability 1/10
+		assertThat(firstPicked).isBetween(1, windows / 2);
+	}
+
+	@Test
+	void occurrencesRacingACloseAreCountedExactlyOnce() throws Exception {
+		ErrorLogAggregator aggregator = aggregator(0, 3);
+		int writers = 4;
+		int perWriter = 50_000;
+		CountDownLatch done = new CountDownLatch(writers);
+		for (int w = 0; w < writers; w++) {
+			Thread.ofPlatform().start(() -> {
+				for (int i = 0; i < perWriter; i++) {
+					aggregator.shouldLog("gpt-4o", "timeout", "eu-west-1", null);
+				}
+				done.countDown();
+			});
+		}
+		while (done.getCount() > 0) {
+			aggregator.closeWindow();
+		}
+		aggregator.closeWindow();
+
+		long reported = 0;
+		for (ILoggingEvent event : List.copyOf(appender.list)) {
+			String message = event.getFormattedMessage();
+			int start = message.indexOf("occurrences=") + "occurrences=".length();
+			reported += Long.parseLong(message.substring(start, message.indexOf(' ', start)));
+		}
+		assertThat(reported).isEqualTo((long) writers * perWriter);
+	}
+
+	private ErrorLogAggregator aggregator(int verbatimPerWindow, int sampleTraceIds) {
+		ErrorLogProperties properties = new ErrorLogProperties();
+		properties.setVerbatimPerWindow(verbatimPerWindow);
+		properties.setSampleTraceIds(sampleTraceIds);
+		return new ErrorLogAggregator(properties, registry);
+	}
+}
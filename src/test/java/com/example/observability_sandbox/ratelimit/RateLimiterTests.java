@@ -0,0 +1,106 @@
+package com.example.observability_sandbox.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimiterTests {
+
+	@Test
+	void disabledByDefault() {
+		RateLimiter limiter = new RateLimiter(new RateLimitProperties(), new SimpleMeterRegistry());
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(limiter.tryAcquire("demo-user", "us-east").allowed()).isTrue();
+		}
+		assertThat(limiter.trackedUsers()).isZero();
+	}
+
+	@Test
+	void usersBeyondCapShareOverflowBucket() {
+		RateLimitProperties properties = enabledProperties();
+		properties.setMaxTrackedKeys(2);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		RateLimiter limiter = new RateLimiter(properties, registry);
+
+		limiter.tryAcquire("user-1", "us-east");
+		limiter.tryAcquire("user-2", "us-east");
+		// Overflow bucket has the standard quota (burst 20) shared by every untracked user
+		for (int i = 0; i < 20; i++) {
+			assertThat(limiter.tryAcquire("overflow-" + i, "us-east").allowed()).isTrue();
+		}
+		assertThat(limiter.tryAcquire("overflow-20", "us-east").allowed()).isFalse();
+
+		assertThat(limiter.trackedUsers()).isEqualTo(2);
+		assertThat(registry.counter("llm_ratelimit_overflow_total",
+				"scope", "user", "tier", "standard", "service", "los-app").count())
+				.isEqualTo(21.0);
+	}
+
+	@Test
+	void trackedUsersKeepTheirOwnBucketAtCap() {
+		RateLimitProperties properties = enabledProperties();
+		properties.setMaxTrackedKeys(1);
+		RateLimiter limiter = new RateLimiter(properties, new SimpleMeterRegistry());
+
+		limiter.tryAcquire("user-1", "us-east");
+		for (int i = 0; i < 20; i++) {
+			limiter.tryAcquire("other-" + i, "us-east");
+		}
+
+		assertThat(limiter.tryAcquire("user-1", "us-east").allowed()).isTrue();
+	}
+
+	@Test
+	void regionsBeyondCapShareOverflowBucket() {
+		RateLimitProperties properties = enabledProperties();
+		properties.setMaxTrackedKeys(1);
+		properties.setRegion(new RateLimitProperties.Quota(3, 0.001));
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		RateLimiter limiter = new RateLimiter(properties, registry);
+
+		limiter.tryAcquire("user-1", "us-east");
+		for (int i = 0; i < 3; i++) {
+			assertThat(limiter.tryAcquire("user-1", "made-up-" + i).allowed()).isTrue();
+		}
+		RateLimitDecision decision = limiter.tryAcquire("user-1", "made-up-3");
+
+		assertThat(decision.allowed()).isFalse();
+		assertThat(decision.scope()).isEqualTo("region");
+		assertThat(limiter.trackedRegions()).isEqualTo(1);
+		assertThat(registry.counter("llm_ratelimit_overflow_total",
+				"scope", "region", "tier", "standard", "service", "los-app").count())
+				.isEqualTo(4.0);
+	}
+
+	@Test
+	void regionRejectionRefundsUserToken() {
+		RateLimitProperties properties = enabledProperties();
+		properties.setUserTiers(Map.of("user-1", "free"));
+		properties.setRegion(new RateLimitProperties.Quota(1, 0.001));
+		RateLimiter limiter = new RateLimiter(properties, new SimpleMeterRegistry());
+
+		// Free tier bursts 5: one request drains us-east, the rejected ones must not cost user tokens
+		assertThat(limiter.tryAcquire("user-1", "us-east").allowed()).isTrue();
+		for (int i = 0; i < 10; i++) {
+			assertThat(limiter.tryAcquire("user-1", "us-east").scope()).isEqualTo("region");
+		}
+		for (int i = 0; i < 4; i++) {
+			assertThat(limiter.tryAcquire("user-1", "region-" + i).allowed()).isTrue();
+		}
+		RateLimitDecision decision = limiter.tryAcquire("user-1", "region-4");
+
+		assertThat(decision.allowed()).isFalse();
+		assertThat(decision.scope()).isEqualTo("user");
+	}
+
+	private static RateLimitProperties enabledProperties() {
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.setEnabled(true);
+		return properties;
+	}
+}
@@ -0,0 +1,36 @@
+package com.example.observability_sandbox.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTests {
+
+	private static final long SECOND = 1_000_000_000L;
+
+	@Test
+	void allowsBurstThenRejectsUntilRefill() {
+		TokenBucket bucket = new TokenBucket(3, 1.0, 0L);
+
+		assertThat(bucket.tryAcquire(0L).remaining()).isEqualTo(2);
+		assertThat(bucket.tryAcquire(0L).remaining()).isEqualTo(1);
+		assertThat(bucket.tryAcquire(0L).remaining()).isEqualTo(0);
+
+		RateLimitDecision rejected = bucket.tryAcquire(0L);
+		assertThat(rejected.allowed()).isFalse();
+		assertThat(rejected.retryAfterSeconds()).isEqualTo(1L);
+
+		assertThat(bucket.tryAcquire(SECOND).allowed()).isTrue();
+	}
+
+	@Test
+	void becomesIdleOnceFullyRefilled() {
+		TokenBucket bucket = new TokenBucket(2, 2.0, 0L);
+		bucket.tryAcquire(0L);
+		bucket.tryAcquire(0L);
+
+		assertThat(bucket.isIdle(SECOND / 2, 0L)).isFalse();
+		assertThat(bucket.isIdle(SECOND, 0L)).isTrue();
+		assertThat(bucket.isIdle(SECOND, SECOND)).isFalse();
+	}
+}
@@ -0,0 +1,66 @@
+package com.example.observability_sandbox.slo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class BurnRateTrackerTests {
+
+	private static final long BUCKET = 10_000L;
+
+	@Test
+	void countsGoodAndBadEventsInEveryWindow() {
+		BurnRateTracker tracker = new BurnRateTracker(BUCKET, new int[] {3, 6});
+		tracker.record(0, true);
+		tracker.record(5_000, false);
+		tracker.record(15_000, true);
+
+		assertThat(tracker.counts(15_000, 0)).containsExactly(2L, 1L);
+		assertThat(tracker.counts(15_000, 1)).containsExactly(2L, 1L);
+	}
+
+	@Test
+	void bucketsLeaveTheShortWindowBeforeTheLongOne() {
+		BurnRateTracker tracker = new BurnRateTracker(BUCKET, new int[] {3, 6});
+		tracker.record(0, false);
+		tracker.record(20_000, true);
+
+		assertThat(tracker.counts(20_000, 0)).containsExactly(1L, 1L);
+		assertThat(tracker.counts(30_000, 0)).containsExactly(1L, 0L);
+		assertThat(tracker.counts(30_000, 1)).containsExactly(1L, 1L);
+		assertThat(tracker.counts(50_000, 0)).containsExactly(0L, 0L);
+		assertThat(tracker.counts(50_000, 1)).containsExactly(1L, 1L);
+		assertThat(tracker.counts(60_000, 1)).containsExactly(0L, 0L);
+	}
+
+	@Test
+	void aGapLongerThanTheRingClearsEverything() {
+		BurnRateTracker tracker = new BurnRateTracker(BUCKET, new int[] {2, 4});
+		tracker.record(0, false);
+		tracker.record(10_000, false);
+
+		tracker.record(100_000, true);
+
+		assertThat(tracker.counts(100_000, 0)).containsExactly(1L, 0L);
+		assertThat(tracker.counts(100_000, 1)).containsExactly(1L, 0L);
+	}
+
+	@Test
+	void reusedSlotsStartEmpty() {
+		BurnRateTracker tracker = new BurnRateTracker(BUCKET, new int[] {2});
+		tracker.record(0, false);
+		tracker.record(10_000, false);
+		tracker.record(20_000, true);
+
+		assertThat(tracker.counts(20_000, 0)).containsExactly(1L, 1L);
+		assertThat(tracker.counts(30_000, 0)).containsExactly(1L, 0L);
+	}
+
+	@Test
+	void lateReadsDoNotMoveTheWindowBackwards() {
+		BurnRateTracker tracker = new BurnRateTracker(BUCKET, new int[] {3});
+		tracker.record(20_000, false);
+
+		assertThat(tracker.counts(0, 0)).containsExactly(0L, 1L);
+	}
+}
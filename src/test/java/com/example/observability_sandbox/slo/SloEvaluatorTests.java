@@ -0,0 +1,60 @@
+package com.example.observability_sandbox.slo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SloEvaluatorTests {
+
+	@Test
+	void rejectsSharedAlertsThatALooseObjectiveCanNeverReach() {
+		SloProperties properties = properties(0.90);
+		properties.setAlerts(List.of(alert("page", 14.4)));
+
+		assertThatThrownBy(() -> new SloEvaluator(properties, new SimpleMeterRegistry()))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("latency page alert burn-rate 14.4 > 10.0");
+	}
+
+	@Test
+	void objectiveAlertsReplaceTheSharedOnes() {
+		SloProperties properties = properties(0.90);
+		properties.setAlerts(List.of(alert("page", 14.4)));
+		properties.getObjectives().get("latency").setAlerts(List.of(alert("page", 5)));
+		SloEvaluator evaluator = new SloEvaluator(properties, new SimpleMeterRegistry());
+
+		for (int i = 0; i < 10; i++) {
+			evaluator.record("/api/generate", "m", Duration.ofSeconds(i < 6 ? 2 : 0).toNanos(), false);
+		}
+
+		SloStatus status = evaluator.statuses().get(0);
+		assertThat(status.alerts()).singleElement().satisfies(alert -> {
+			assertThat(alert.burnRateThreshold()).isEqualTo(5.0);
+			assertThat(alert.firing()).isTrue();
+		});
+	}
+
+	private static SloProperties properties(double target) {
+		SloProperties.Objective objective = new SloProperties.Objective();
+		objective.setTarget(target);
+		objective.setLatencyThreshold(Duration.ofMillis(500));
+		SloProperties properties = new SloProperties();
+		properties.getObjectives().put("latency", objective);
+		return properties;
+	}
+
+	private static SloProperties.BurnRateAlert alert(String severity, double burnRate) {
+		SloProperties.BurnRateAlert alert = new SloProperties.BurnRateAlert();
+		alert.setSeverity(severity);
+		alert.setShortWindow(Duration.ofMinutes(5));
+		alert.setLongWindow(Duration.ofHours(1));
+		alert.setBurnRate(burnRate);
+		return alert;
+	}
+}
@@ -0,0 +1,42 @@
+package com.example.observability_sandbox.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyBucketsTests {
+
+	@Test
+	void smallValuesHaveExactBuckets() {
+		for (int micros = 0; micros < LatencyBuckets.SUB_BUCKETS; micros++) {
+			assertThat(LatencyBuckets.indexOf(micros)).isEqualTo(micros);
+			assertThat(LatencyBuckets.valueOf(micros)).isEqualTo(micros);
+		}
+	}
+
+	@Test
+	void everyBucketValueMapsBackToItsBucket() {
+		for (int index = 0; index < LatencyBuckets.BUCKET_COUNT; index++) {
+			assertThat(LatencyBuckets.indexOf(LatencyBuckets.valueOf(index))).isEqualTo(index);
+		}
+	}
+
+	@Test
+	void indexIsMonotonicAndRelativeErrorIsBounded() {
+		int previous = 0;
+		for (long micros = 1; micros <= LatencyBuckets.MAX_VALUE_MICROS; micros += Math.max(1, micros / 37)) {
+			int index = LatencyBuckets.indexOf(micros);
+			assertThat(index).isGreaterThanOrEqualTo(previous);
+			previous = index;
+			double error = Math.abs(LatencyBuckets.valueOf(index) - micros) / (double) micros;
+			assertThat(error).isLessThanOrEqualTo(1.0 / LatencyBuckets.SUB_BUCKETS);
+		}
+	}
+
+	@Test
+	void outOfRangeValuesAreClamped() {
+		assertThat(LatencyBuckets.indexOf(-5)).isZero();
+		assertThat(LatencyBuckets.indexOf(LatencyBuckets.MAX_VALUE_MICROS)).isEqualTo(LatencyBuckets.BUCKET_COUNT - 1);
+		assertThat(LatencyBuckets.indexOf(Long.MAX_VALUE)).isEqualTo(LatencyBuckets.BUCKET_COUNT - 1);
+	}
+}
@@ -0,0 +1,67 @@
+package com.example.observability_sandbox.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowRecorderTests {
+
+	@Test
+	void returnsOneSnapshotPerSecondOldestFirst() {
+		SlidingWindowRecorder recorder = new SlidingWindowRecorder(5);
+		recorder.record(100, 1_000, false);
+		recorder.record(100, 2_000, true);
+		recorder.record(102, 3_000, false);
+
+		List<SlidingWindowRecorder.SecondSnapshot> seconds = recorder.perSecond(102, 3);
+
+		assertThat(seconds).extracting(SlidingWindowRecorder.SecondSnapshot::epochSecond).containsExactly(100L, 101L, 102L);
+		assertThat(seconds.get(0).histogram().total()).isEqualTo(2);
+		assertThat(seconds.get(0).histogram().errors()).isEqualTo(1);
+		assertThat(seconds.get(1).histogram().total()).isZero();
+		assertThat(seconds.get(2).histogram().total()).isEqualTo(1);
+	}
+
+	@Test
+	void slotIsRecycledWhenTheWindowWrapsAround() {
+		SlidingWindowRecorder recorder = new SlidingWindowRecorder(3);
+		recorder.record(100, 1_000, false);
+		recorder.record(103, 1_000, false);
+
+		List<SlidingWindowRecorder.SecondSnapshot> seconds = recorder.perSecond(103, 3);
+
+		assertThat(seconds).extracting(s -> s.histogram().total()).containsExactly(0L, 0L, 1L);
+		assertThat(recorder.perSecond(100, 1).get(0).histogram().total()).isZero();
+	}
+
+	@Test
+	void lateSamplesForARecycledSecondAreDropped() {
+		SlidingWindowRecorder recorder = new SlidingWindowRecorder(3);
+		recorder.record(103, 1_000, false);
+		recorder.record(100, 1_000, false);
+
+		assertThat(recorder.perSecond(103, 1).get(0).histogram().total()).isEqualTo(1);
+	}
+
+	@Test
+	void requestedSpanIsCappedAtTheWindow() {
+		SlidingWindowRecorder recorder = new SlidingWindowRecorder(4);
+
+		assertThat(recorder.perSecond(50, 60)).hasSize(4);
+	}
+
+	@Test
+	void percentilesComeFromTheRecordedBuckets() {
+		SlidingWindowRecorder recorder = new SlidingWindowRecorder(2);
+		for (int i = 1; i <= 100; i++) {
+			recorder.record(10, i * 1_000L, false);
+		}
+
+		HistogramSnapshot snapshot = recorder.perSecond(10, 1).get(0).histogram();
+
+		assertThat(snapshot.quantileMillis(0.5)).isCloseTo(50.0, org.assertj.core.data.Percentage.withPercentage(7));
+		assertThat(snapshot.quantileMillis(0.99)).isCloseTo(99.0, org.assertj.core.data.Percentage.withPercentage(7));
+	}
+}
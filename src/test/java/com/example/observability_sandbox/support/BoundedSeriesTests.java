@@ -0,0 +1,40 @@
+package com.example.observability_sandbox.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedSeriesTests {
+
+	@Test
+	void foldsNewKeysIntoOverflowOnceFull() {
+		AtomicInteger created = new AtomicInteger();
+		BoundedSeries<String, AtomicInteger> series = new BoundedSeries<>(2, key -> BoundedSeries.OTHER,
+				key -> {
+					created.incrementAndGet();
+					return new AtomicInteger();
+				});
+
+		AtomicInteger first = series.get("a");
+		series.get("b");
+		AtomicInteger overflow = series.get("c");
+
+		assertThat(series.get("a")).isSameAs(first);
+		assertThat(series.get("d")).isSameAs(overflow);
+		assertThat(series.asMap()).containsOnlyKeys("a", "b", BoundedSeries.OTHER);
+		assertThat(created).hasValue(3);
+	}
+
+	@Test
+	void removedKeysFreeCapacity() {
+		BoundedSeries<String, Object> series = new BoundedSeries<>(1, key -> BoundedSeries.OTHER, key -> new Object());
+		series.get("a");
+		series.asMap().remove("a");
+
+		series.get("b");
+
+		assertThat(series.asMap()).containsOnlyKeys("b");
+	}
+}
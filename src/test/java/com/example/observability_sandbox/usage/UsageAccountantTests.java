@@ -0,0 +1,132 @@
+package com.example.observability_sandbox.usage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UsageAccountantTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void flushWritesOnlyTheDeltaSinceTheLastFlush() throws Exception {
+		UsageAccountant accountant = accountant(1_000);
+		accountant.record("alice", "gpt-4o", "eu-west-1", 10, 20);
+		accountant.record("alice", "gpt-4o", "eu-west-1", 5, 0);
+		accountant.flush();
+		accountant.record("alice", "gpt-4o", "eu-west-1", 1, 2);
+		accountant.flush();
+		accountant.flush();
+
+		List<UsageRecord> records = new ArrayList<>();
+		new UsageLog(directory).scan(0, Long.MAX_VALUE, records::add);
+
+		assertThat(records).extracting(UsageRecord::requests).containsExactly(2L, 1L);
+		assertThat(records).extracting(UsageRecord::requestTokens).containsExactly(15L, 1L);
+		assertThat(records).extracting(UsageRecord::responseTokens).containsExactly(20L, 2L);
+	}
+
+	@Test
+	void keysIdleForAWholeIntervalAreEvictedAndComeBackOnUse() throws Exception {
+		UsageAccountant accountant = accountant(1_000);
+		accountant.record("alice", "gpt-4o", "eu-west-1", 10, 20);
+		accountant.flush();
+		assertThat(accountant.trackedKeys()).isEqualTo(1);
+
+		accountant.flush();
+		assertThat(accountant.trackedKeys()).isZero();
+
+		accountant.record("alice", "gpt-4o", "eu-west-1", 3, 4);
+		assertThat(accountant.userUsage("alice", 0, Long.MAX_VALUE))
+				.singleElement()
+				.satisfies(usage -> {
+					assertThat(usage.requests()).isEqualTo(2);
+					assertThat(usage.totalTokens()).isEqualTo(37);
+				});
+	}
+
+	@Test
+	void oversizedIdsAreTruncatedSoFlushesKeepSucceeding() throws Exception {
+		UsageProperties properties = new UsageProperties();
+		properties.setDirectory(directory.toString());
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		UsageAccountant accountant = new UsageAccountant(properties, registry);
+		String longUser = "u".repeat(70_000);
+
+		accountant.record(longUser, "gpt-4o", "eu-west-1", 10, 20);
+		accountant.record("alice", "gpt-4o", "eu-west-1", 1, 2);
+		accountant.flush();
+		accountant.flush();
+		accountant.flush();
+
+		List<UsageRecord> records = new ArrayList<>();
+		new UsageLog(directory).scan(0, Long.MAX_VALUE, records::add);
+
+		assertThat(registry.counter("llm_usage_flush_failures_total", "service", "los-app").count()).isZero();
+		assertThat(records).hasSize(2);
+		assertThat(records).extracting(UsageRecord::userId)
+				.containsExactlyInAnyOrder(longUser.substring(0, UsageAccountant.MAX_KEY_CHARS), "alice");
+		assertThat(records).extracting(UsageRecord::totalTokens).containsExactlyInAnyOrder(30L, 3L);
+	}
+
+	@Test
+	void activeKeysAreSpilledOnceTheMapIsTwiceMaxKeys() throws Exception {
+		UsageAccountant accountant = accountant(2);
+		for (int i = 0; i < 20; i++) {
+			accountant.record("user-" + i, "gpt-4o", "eu-west-1", 1, 1);
+			assertThat(accountant.trackedKeys()).isLessThanOrEqualTo(4);
+		}
+
+		accountant.flush();
+		long requests = 0;
+		for (int i = 0; i < 20; i++) {
+			for (UsageRecord usage : accountant.userUsage("user-" + i, 0, Long.MAX_VALUE)) {
+				requests += usage.requests();
+			}
+		}
+		assertThat(requests).isEqualTo(20);
+	}
+
+	@Test
+	void concurrentWritersLoseNothingWhileCellsAreRetired() throws Exception {
+		UsageAccountant accountant = accountant(1);
+		int writers = 8;
+		int perWriter = 20_000;
+		CountDownLatch done = new CountDownLatch(writers);
+		for (int w = 0; w < writers; w++) {
+			String user = "user-" + (w % 2);
+			Thread.ofPlatform().start(() -> {
+				for (int i = 0; i < perWriter; i++) {
+					accountant.record(user, "gpt-4o", "eu-west-1", 1, 0);
+				}
+				done.countDown();
+			});
+		}
+		while (done.getCount() > 0) {
+			accountant.flush();
+		}
+		accountant.flush();
+
+		long tokens = 0;
+		for (TopConsumersSketch.TopConsumer consumer : accountant.topConsumers(0, Long.MAX_VALUE, 10, "user")) {
+			tokens += consumer.tokens();
+		}
+		assertThat(tokens).isEqualTo((long) writers * perWriter);
+	}
+
+	private UsageAccountant accountant(int maxKeys) {
+		UsageProperties properties = new UsageProperties();
+		properties.setDirectory(directory.toString());
+		properties.setMaxKeys(maxKeys);
+		return new UsageAccountant(properties, new SimpleMeterRegistry());
+	}
+}
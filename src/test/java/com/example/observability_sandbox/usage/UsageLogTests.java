@@ -0,0 +1,111 @@
+package com.example.observability_sandbox.usage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.UTFDataFormatException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class UsageLogTests {
+
+	private static final long HOUR = 3_600_000L;
+	private static final long T0 = Instant.parse("2026-01-01T10:00:00Z").toEpochMilli();
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void recordsRoundTripIncludingLargeCountsAndNonAsciiIds() throws Exception {
+		UsageLog log = new UsageLog(directory);
+		UsageRecord small = new UsageRecord(T0, "alice", "gpt-4o", "eu-west-1", 1, 0, 127);
+		UsageRecord large = new UsageRecord(T0, "Zoë-ユーザー", "claude-3-opus", "ap-northeast-1",
+				Long.MAX_VALUE, 1L << 35, 128);
+		log.append(T0, List.of(small, large));
+
+		List<UsageRecord> read = new ArrayList<>();
+		log.scan(0, Long.MAX_VALUE, read::add);
+
+		assertThat(read).containsExactly(small, large);
+	}
+
+	@Test
+	void batchThatCannotBeEncodedLeavesTheFileUntouched() throws Exception {
+		UsageLog log = new UsageLog(directory);
+		UsageRecord first = new UsageRecord(T0, "alice", "gpt-4o", "eu-west-1", 1, 2, 3);
+		UsageRecord ok = new UsageRecord(T0, "carol", "gpt-4o", "eu-west-1", 4, 5, 6);
+		UsageRecord oversized = new UsageRecord(T0, "u".repeat(70_000), "gpt-4o", "eu-west-1", 1, 1, 1);
+		log.append(T0, List.of(first));
+		Path file;
+		try (Stream<Path> files = Files.list(directory)) {
+			file = files.findFirst().orElseThrow();
+		}
+		long size = Files.size(file);
+
+		assertThatThrownBy(() -> log.append(T0, List.of(ok, oversized))).isInstanceOf(UTFDataFormatException.class);
+		log.append(T0, List.of(ok));
+
+		List<UsageRecord> read = new ArrayList<>();
+		log.scan(0, Long.MAX_VALUE, read::add);
+		assertThat(read).containsExactly(first, ok);
+		assertThat(Files.size(file)).isEqualTo(size * 2);
+	}
+
+	@Test
+	void scanFiltersByTimestampAcrossHourFiles() throws Exception {
+		UsageLog log = new UsageLog(directory);
+		log.append(T0, List.of(record(T0)));
+		log.append(T0 + HOUR, List.of(record(T0 + HOUR)));
+		log.append(T0 + 2 * HOUR, List.of(record(T0 + 2 * HOUR)));
+
+		List<UsageRecord> read = new ArrayList<>();
+		log.scan(T0 + HOUR, T0 + 2 * HOUR, read::add);
+
+		assertThat(read).extracting(UsageRecord::epochMillis).containsExactly(T0 + HOUR);
+		try (Stream<Path> files = Files.list(directory)) {
+			assertThat(files).hasSize(3);
+		}
+	}
+
+	@Test
+	void tornTailIsIgnored() throws Exception {
+		UsageLog log = new UsageLog(directory);
+		log.append(T0, List.of(record(T0), record(T0 + 1)));
+		Path file;
+		try (Stream<Path> files = Files.list(directory)) {
+			file = files.findFirst().orElseThrow();
+		}
+		byte[] bytes = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+		List<UsageRecord> read = new ArrayList<>();
+		log.scan(0, Long.MAX_VALUE, read::add);
+
+		assertThat(read).extracting(UsageRecord::epochMillis).containsExactly(T0);
+	}
+
+	@Test
+	void retentionDeletesWholeHoursOnly() throws Exception {
+		UsageLog log = new UsageLog(directory);
+		log.append(T0, List.of(record(T0)));
+		log.append(T0 + HOUR, List.of(record(T0 + HOUR)));
+
+		assertThat(log.deleteOlderThan(T0 + HOUR + 1)).isEqualTo(1);
+
+		List<UsageRecord> read = new ArrayList<>();
+		log.scan(0, Long.MAX_VALUE, read::add);
+		assertThat(read).extracting(UsageRecord::epochMillis).containsExactly(T0 + HOUR);
+	}
+
+	private static UsageRecord record(long epochMillis) {
+		return new UsageRecord(epochMillis, "alice", "gpt-4o", "eu-west-1", 1, 10, 20);
+	}
+}
@@ -0,0 +1,100 @@
+#!/bin/bash
+
+# Startup benchmark for Observability Sandbox
+# Compares time-to-ready and RSS of the plain boot jar against the
+# extracted jar + CDS archive + "startup" profile produced by ./gradlew cdsArchive
+
+set -euo pipefail
+
+RUNS="${RUNS:-5}"
+PORT="${PORT:-18080}"
+JAVA="${JAVA:-java}"
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-120}"
+ROOT_DIR="$(cd "$(dirname "$0")" && pwd)"
+
+cd "$ROOT_DIR"
+
+if [ "${SKIP_BUILD:-false}" != true ]; then
+    ./gradlew -q bootJar cdsArchive
+fi
+
+BOOT_JAR=$(ls build/libs/*.jar | grep -v -- '-plain.jar' | head -n 1)
+CDS_JAR=$(basename "$BOOT_JAR")
+
+now_ms() {
+    date +%s%3N
+}
+
+# Starts the app with the given working dir and JVM args, prints "<ready_ms> <rss_kb> <first_generate_ms>".
+# Returns non-zero without printing a sample if the app never becomes ready or a measurement fails.
+measure() {
+    local workdir=$1
+    shift
+    local start
+    start=$(now_ms)
+    (cd "$workdir" && exec "$JAVA" "$@" --server.port="$PORT" > /dev/null 2>&1) &
+    local pid=$!
+
+    local deadline=$(( $(date +%s) + TIMEOUT_SECONDS ))
+    until curl -sf "http://localhost:$PORT/actuator/health/readiness" > /dev/null 2>&1; do
+        if [ "$(date +%s)" -ge "$deadline" ] || ! kill -0 "$pid" 2> /dev/null; then
+            kill "$pid" 2> /dev/null || true
+            wait "$pid" 2> /dev/null || true
+            echo "startup failed" >&2
+            return 1
+        fi
+        sleep 0.05
+    done
+    local ready=$(( $(now_ms) - start ))
+    local rss
+    rss=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status" 2> /dev/null || true)
+    # Lazy init moves bean creation to the first request, so time it too
+    local first=""
+    first=$(curl -s -o /dev/null -w '%{time_total}' -X POST "http://localhost:$PORT/generate" \
+        -H "Content-Type: application/json" -d '{"prompt":"startup benchmark"}' 2> /dev/null) || first=""
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    if [ -z "$rss" ] || [ -z "$first" ]; then
+        echo "could not read RSS or time the first /generate" >&2
+        return 1
+    fi
+    echo "$ready $rss $(awk -v s="$first" 'BEGIN { printf "%d", s * 1000 }')"
+}
+
+run_mode() {
+    local label=$1
+    shift
+    local total_ms=0
+    local total_rss=0
+    local total_first=0
+    local sample
+    for i in $(seq 1 "$RUNS"); do
+        # measure runs in a subshell, so its failure has to be checked here rather than exiting the script
+        if ! sample=$(measure "$@"); then
+            echo "$label run $i failed; aborting instead of averaging in an empty sample" >&2
+            exit 1
+        fi
+        read -r ms rss first <<< "$sample"
+        if ! [[ "$ms" =~ ^[0-9]+$ && "$rss" =~ ^[0-9]+$ && "$first" =~ ^[0-9]+$ ]]; then
+            echo "$label run $i returned a malformed sample '$sample'; aborting" >&2
+            exit 1
+        fi
+        echo "  $label run $i: ready in ${ms} ms, RSS $((rss / 1024)) MB, first /generate ${first} ms"
+        total_ms=$((total_ms + ms))
+        total_rss=$((total_rss + rss))
+        total_first=$((total_first + first))
+    done
+    echo "$label average: ready in $((total_ms / RUNS)) ms, RSS $((total_rss / RUNS / 1024)) MB, first /generate $((total_first / RUNS)) ms"
+}
+
+# Everything needed to fill in a row of the results table in docs/runbooks/startup-optimization.md
+echo "Commit: $(git rev-parse --short HEAD 2> /dev/null || echo unknown)"
+echo "JVM: $("$JAVA" -version 2>&1 | head -n 1)"
+echo "Host: $(nproc) CPUs, $(awk '/MemTotal/ {print int($2 / 1024)}' /proc/meminfo) MB RAM"
+echo "Runs per mode: $RUNS (port $PORT)"
+echo ""
+run_mode "baseline " "$ROOT_DIR" -jar "$BOOT_JAR"
+echo ""
+run_mode "optimized" "$ROOT_DIR/build/cds" -XX:SharedArchiveFile=application.jsa \
+    -Dspring.profiles.active=startup -jar "$CDS_JAR"
@@ -0,0 +1,123 @@
+#!/bin/bash
+
+# Transport benchmark for Observability Sandbox
+# Drives /generate at a fixed arrival rate against the default connector (HTTP/1.1, no compression)
+# and the "transport" profile (h2c + gzip + tuned Tomcat limits), and prints bytes per request and
+# peak server connections for each. After the load, each run triggers one evaluation batch and reports
+# the size of /api/evaluations/last, the >2 KB payload that the gzip threshold is meant for.
+# Rate limiting is disabled for both runs so every request gets a full response.
+
+set -euo pipefail
+
+RATE="${RATE:-200}"
+DURATION="${DURATION:-60s}"
+PORT="${PORT:-18080}"
+JAVA="${JAVA:-java}"
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-120}"
+EVALUATION_TIMEOUT_SECONDS="${EVALUATION_TIMEOUT_SECONDS:-600}"
+ROOT_DIR="$(cd "$(dirname "$0")" && pwd)"
+BASE_URL="http://localhost:$PORT"
+
+cd "$ROOT_DIR"
+
+if [ "${SKIP_BUILD:-false}" != true ]; then
+    ./gradlew -q bootJar :load-generator:installDist
+fi
+
+BOOT_JAR=$(ls build/libs/*.jar | grep -v -- '-plain.jar' | head -n 1)
+LOADGEN=load-generator/build/install/load-generator/bin/load-generator
+# Fresh checkpoint per run, so /api/evaluations/last only answers once this run's batch has finished
+WORK_DIR=$(mktemp -d)
+APP_PID=""
+RUN=0
+
+cleanup() {
+    stop_app
+    rm -rf "$WORK_DIR"
+}
+trap cleanup EXIT
+
+# Starts the app in this shell (not a subshell, so stop_app can see it exit) and waits for readiness
+start_app() {
+    local checkpoint=$1
+    shift
+    "$JAVA" -jar "$BOOT_JAR" --server.port="$PORT" --server.tomcat.mbeanregistry.enabled=true \
+        --ratelimit.enabled=false --evaluation.enabled=true --evaluation.checkpoint-file="$checkpoint" \
+        "$@" > /dev/null 2>&1 &
+    APP_PID=$!
+    local deadline=$(( $(date +%s) + TIMEOUT_SECONDS ))
+    until curl -sf "$BASE_URL/actuator/health/readiness" > /dev/null 2>&1; do
+        if [ "$(date +%s)" -ge "$deadline" ] || ! kill -0 "$APP_PID" 2> /dev/null; then
+            echo "startup failed" >&2
+            exit 1
+        fi
+        sleep 0.2
+    done
+}
+
+# Stops the app and waits until the process is gone, so the next run can bind the port
+stop_app() {
+    [ -n "$APP_PID" ] || return 0
+    kill "$APP_PID" 2> /dev/null || true
+    local deadline=$(( $(date +%s) + TIMEOUT_SECONDS ))
+    while kill -0 "$APP_PID" 2> /dev/null; do
+        if [ "$(date +%s)" -ge "$deadline" ]; then
+            kill -9 "$APP_PID" 2> /dev/null || true
+        fi
+        sleep 0.2
+    done
+    wait "$APP_PID" 2> /dev/null || true
+    APP_PID=""
+}
+
+# Triggers one evaluation batch and waits for its summary
+run_evaluation() {
+    if ! curl -sf -X POST "$BASE_URL/api/evaluations/run?trigger=transport-benchmark" > /dev/null; then
+        echo "  could not trigger an evaluation batch" >&2
+        return 1
+    fi
+    local deadline=$(( $(date +%s) + EVALUATION_TIMEOUT_SECONDS ))
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "$BASE_URL/api/evaluations/last")" = 200 ]; do
+        if [ "$(date +%s)" -ge "$deadline" ]; then
+            echo "  evaluation did not finish within ${EVALUATION_TIMEOUT_SECONDS}s" >&2
+            return 1
+        fi
+        sleep 1
+    done
+}
+
+evaluation_size() {
+    local encoding=$1
+    local size
+    size=$(curl -s -o /dev/null -w '%{size_download}' -H "Accept-Encoding: $encoding" \
+        "$BASE_URL/api/evaluations/last")
+    echo "  /api/evaluations/last ($encoding): $size bytes"
+}
+
+run_mode() {
+    local label=$1
+    shift
+    local loadgen_args=$1
+    shift
+    echo "== $label =="
+    RUN=$((RUN + 1))
+    start_app "$WORK_DIR/checkpoint-$RUN.json" "$@"
+    # shellcheck disable=SC2086
+    "$LOADGEN" --base-url "$BASE_URL" --rate "$RATE" --duration "$DURATION" --arrival uniform $loadgen_args \
+        | grep -E '^(Transport|Sent|  bytes/request|  server connections|  Corrected)'
+    # Evaluated after the load so the batch does not compete with it
+    if run_evaluation; then
+        evaluation_size "${ENCODING:-identity}"
+        if [ -n "${ENCODING_ALT:-}" ]; then
+            evaluation_size "$ENCODING_ALT"
+        fi
+    fi
+    stop_app
+    echo ""
+}
+
+echo "Fixed rate: $RATE req/s for $DURATION (port $PORT)"
+echo ""
+ENCODING=identity run_mode "baseline (HTTP/1.1, identity)" ""
+ENCODING=identity ENCODING_ALT=gzip run_mode "transport profile (h2c, gzip)" "--http 2 --compressed" \
+    --spring.profiles.active=transport